@@ -0,0 +1,21 @@
+package benchmarks.site;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.How;
+import pages.BasePage;
+
+public class DelayedPage extends BasePage {
+
+    @FindBy(how = How.ID, using = "submit")
+    public WebElement btnSubmit;
+
+    @FindBy(how = How.ID, using = "status")
+    public WebElement lblStatus;
+
+    public DelayedPage(WebDriver webDriver) {
+        super(webDriver);
+        initElements();
+    }
+}
@@ -0,0 +1,39 @@
+package benchmarks.site;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.How;
+import pages.BasePage;
+
+public class FormPage extends BasePage {
+
+    @FindBy(how = How.NAME, using = "firstName")
+    public WebElement txtFirstName;
+
+    @FindBy(how = How.NAME, using = "lastName")
+    public WebElement txtLastName;
+
+    @FindBy(how = How.NAME, using = "email")
+    public WebElement txtEmail;
+
+    @FindBy(how = How.NAME, using = "phone")
+    public WebElement txtPhone;
+
+    @FindBy(how = How.NAME, using = "address")
+    public WebElement txtAddress;
+
+    @FindBy(how = How.NAME, using = "city")
+    public WebElement txtCity;
+
+    @FindBy(how = How.NAME, using = "notes")
+    public WebElement txtNotes;
+
+    @FindBy(how = How.ID, using = "book")
+    public WebElement btnBook;
+
+    public FormPage(WebDriver webDriver) {
+        super(webDriver);
+        initElements();
+    }
+}
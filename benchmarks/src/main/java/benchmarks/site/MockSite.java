@@ -0,0 +1,105 @@
+package benchmarks.site;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/*
+ *  a local stand-in for the site under test, serving the pages in src/main/resources/site on a free port.
+ *  posting the login form sets a session cookie and redirects to the dashboard like the real site does
+ */
+public final class MockSite implements Closeable {
+    private static final String[] PAGES = {"login", "dashboard", "slow", "delayed", "form"};
+
+    private final HttpServer server;
+
+    private final Map<String, byte[]> pages = new HashMap<>();
+
+    public MockSite() throws IOException {
+        for (final String page : PAGES)
+            pages.put("/" + page, read("/site/" + page + ".html"));
+
+        pages.put("/account/dashboard", pages.get("/dashboard"));
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8, runnable -> {
+            final Thread thread = new Thread(runnable, "mock-site");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String url(final String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final String path = exchange.getRequestURI().getPath();
+
+            if ("POST".equals(exchange.getRequestMethod()) && "/login".equals(path)) {
+                drain(exchange.getRequestBody());
+                exchange.getResponseHeaders().add("Set-Cookie", "session=" + System.nanoTime() + "; Path=/; HttpOnly");
+                exchange.getResponseHeaders().add("Location", "/account/dashboard");
+                exchange.sendResponseHeaders(302, -1);
+                return;
+            }
+
+            final byte[] page = pages.get(path);
+
+            if (page == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, page.length);
+
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(page);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void drain(final InputStream in) throws IOException {
+        final byte[] buffer = new byte[4096];
+        while (in.read(buffer) != -1) {
+            // the form values are not checked
+        }
+    }
+
+    private static byte[] read(final String resource) throws IOException {
+        try (InputStream in = MockSite.class.getResourceAsStream(resource)) {
+            if (in == null)
+                throw new IOException("Missing page " + resource);
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+
+            while ((read = in.read(buffer)) != -1)
+                out.write(buffer, 0, read);
+
+            return out.toByteArray();
+        }
+    }
+}
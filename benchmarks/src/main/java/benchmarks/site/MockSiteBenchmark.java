@@ -0,0 +1,122 @@
+package benchmarks.site;
+
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import pagesteps.LoginPageSteps;
+import utilities.driver.DriverFactory;
+import utilities.metrics.ActionMetrics;
+import utilities.properties.LayeredConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ *  runs the page step flows against MockSite in a headless browser and reports latency percentiles per flow and
+ *  per action (see ActionMetrics). no network access is needed, so runs can be compared with each other
+ *
+ *  java -cp benchmarks/target/benchmarks.jar benchmarks.site.MockSiteBenchmark [iterations] [warmup iterations]
+ *
+ *  the browser comes from DriverFactory, -Dbrowser.profile=low-resource etc. apply. results are written to
+ *  target/mock-site-result.json and target/metrics
+ */
+public final class MockSiteBenchmark {
+    private static final int DELAY_MILLIS = Integer.getInteger("mock.site.delay.millis", 250);
+
+    private final Map<String, Histogram> flows = new LinkedHashMap<>();
+
+    private MockSiteBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        final int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        try (MockSite site = new MockSite()) {
+            System.setProperty("app.url", site.url("/login"));
+            LayeredConfig.refresh();
+
+            final DriverFactory factory = DriverFactory.fromConfig();
+            System.out.println("Browser profile " + factory);
+            final WebDriver webDriver = factory.create();
+
+            try {
+                final MockSiteBenchmark benchmark = new MockSiteBenchmark();
+
+                for (int i = 0; i < warmup; i++)
+                    benchmark.runFlows(webDriver, site, false);
+
+                ActionMetrics.reset();
+
+                for (int i = 0; i < iterations; i++)
+                    benchmark.runFlows(webDriver, site, true);
+
+                benchmark.report(Paths.get("target/mock-site-result.json"));
+            } finally {
+                webDriver.quit();
+            }
+        }
+    }
+
+    private void runFlows(final WebDriver webDriver, final MockSite site, final boolean record) {
+        final LoginPageSteps login = new LoginPageSteps(webDriver);
+        final MockSiteSteps steps = new MockSiteSteps(webDriver, site);
+
+        time("login", record, () -> {
+            login.open_php_travels_page();
+            login.login();
+            webDriver.manage().deleteAllCookies();
+        });
+        time("slowContent", record, () -> steps.wait_for_slow_content(DELAY_MILLIS));
+        time("delayedButton", record, () -> steps.click_delayed_button(DELAY_MILLIS));
+        time("fillForm", record, steps::fill_form);
+        time("fillFormBatched", record, steps::fill_form_batched);
+    }
+
+    private void time(final String flow, final boolean record, final Runnable body) {
+        final long start = System.nanoTime();
+        body.run();
+        final long micros = (System.nanoTime() - start) / 1_000;
+
+        if (record)
+            flows.computeIfAbsent(flow, ignored -> new Histogram(3)).recordValue(micros);
+    }
+
+    private void report(final Path file) throws IOException {
+        final List<Map<String, Object>> flowSummary = new ArrayList<>();
+
+        System.out.printf("%-18s %8s %10s %10s %10s %10s%n", "flow", "count", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+        for (final Map.Entry<String, Histogram> entry : flows.entrySet()) {
+            final Histogram histogram = entry.getValue();
+            final Map<String, Object> row = new LinkedHashMap<>();
+            row.put("flow", entry.getKey());
+            row.put("count", histogram.getTotalCount());
+            row.put("mean", histogram.getMean() / 1_000.0);
+            row.put("p50", histogram.getValueAtPercentile(50) / 1_000.0);
+            row.put("p90", histogram.getValueAtPercentile(90) / 1_000.0);
+            row.put("p99", histogram.getValueAtPercentile(99) / 1_000.0);
+            row.put("max", histogram.getMaxValue() / 1_000.0);
+            flowSummary.add(row);
+
+            System.out.printf("%-18s %8d %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), histogram.getTotalCount(),
+                    row.get("p50"), row.get("p90"), row.get("p99"), row.get("max"));
+        }
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("flows", flowSummary);
+        result.put("actions", ActionMetrics.summary());
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, new Json().toJson(result).getBytes(StandardCharsets.UTF_8));
+        ActionMetrics.export();
+
+        System.out.println("Results written to " + file);
+    }
+}
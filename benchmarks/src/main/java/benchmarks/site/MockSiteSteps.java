@@ -0,0 +1,66 @@
+package benchmarks.site;
+
+import org.openqa.selenium.WebDriver;
+import pagesteps.BasePageSteps;
+
+import static utilities.actions.SeleniumActions.*;
+
+/*
+ *  the flows of the mock site benchmark, written like the page steps of the framework
+ */
+public class MockSiteSteps extends BasePageSteps {
+    private final MockSite site;
+
+    public MockSiteSteps(WebDriver webDriver, MockSite site) {
+        super(webDriver);
+        this.site = site;
+    }
+
+    public void wait_for_slow_content(int delayMillis) {
+        step("slowContent", () -> {
+            navigateTo(site.url("/slow?delay=" + delayMillis));
+            waitForVisibilityOf(new SlowPage(webDriver).lblResult);
+        });
+    }
+
+    public void click_delayed_button(int delayMillis) {
+        step("delayedButton", () -> {
+            navigateTo(site.url("/delayed?delay=" + delayMillis));
+            final DelayedPage page = new DelayedPage(webDriver);
+            click(waitToBeClickable(page.btnSubmit));
+        });
+    }
+
+    public void fill_form() {
+        step("fillForm", () -> {
+            navigateTo(site.url("/form"));
+            final FormPage page = new FormPage(webDriver);
+            type(waitForVisibilityOf(page.txtFirstName), "Jane");
+            type(page.txtLastName, "Doe");
+            type(page.txtEmail, "jane.doe@example.com");
+            type(page.txtPhone, "+1 555 0100");
+            type(page.txtAddress, "1 Main Street");
+            type(page.txtCity, "Springfield");
+            type(page.txtNotes, "Window seat please");
+            click(page.btnBook);
+        });
+    }
+
+    public void fill_form_batched() {
+        step("fillFormBatched", () -> {
+            navigateTo(site.url("/form"));
+            final FormPage page = new FormPage(webDriver);
+            waitForVisibilityOf(page.txtFirstName);
+            batch()
+                    .type(page.txtFirstName, "Jane")
+                    .type(page.txtLastName, "Doe")
+                    .type(page.txtEmail, "jane.doe@example.com")
+                    .type(page.txtPhone, "+1 555 0100")
+                    .type(page.txtAddress, "1 Main Street")
+                    .type(page.txtCity, "Springfield")
+                    .type(page.txtNotes, "Window seat please")
+                    .click(page.btnBook)
+                    .perform();
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package benchmarks.site;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.How;
+import pages.BasePage;
+
+public class SlowPage extends BasePage {
+
+    @FindBy(how = How.ID, using = "result")
+    public WebElement lblResult;
+
+    public SlowPage(WebDriver webDriver) {
+        super(webDriver);
+        initElements();
+    }
+}
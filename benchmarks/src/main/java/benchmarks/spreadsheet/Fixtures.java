@@ -0,0 +1,196 @@
+package benchmarks.spreadsheet;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import utilities.properties.LayeredConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/*
+ *  generates the workbooks the benchmarks read. a fixture is written once into target/benchmark-fixtures and reused
+ *  by later forks and runs, the content only depends on the name, so results stay comparable between builds
+ */
+public final class Fixtures {
+    private static final Path DIRECTORY = Paths.get(System.getProperty("benchmark.fixtures.dir", "target/benchmark-fixtures"));
+
+    private static final long SEED = 20220401L;
+
+    private static final long EPOCH = 1_600_000_000_000L;
+
+    private Fixtures() {}
+
+    /*
+     *  "spreadsheet.generated.mappers" is read once, when the mapper first looks up a class. every parameter
+     *  combination runs in its own fork, so setting it before the first map or write chooses the mappers
+     */
+    public static void useGeneratedMappers(final boolean generated) {
+        System.setProperty("spreadsheet.generated.mappers", String.valueOf(generated));
+        LayeredConfig.refresh();
+    }
+
+    /*
+     *  a workbook with a header row of the field names of the class and "rows" rows of values.
+     *  reversed writes the columns in the opposite order of the field declarations
+     */
+    public static Path workbook(final Class<?> type, final int rows, final boolean reversed) throws IOException {
+        final Path file = DIRECTORY.resolve(type.getSimpleName() + "-" + rows + (reversed ? "-reversed" : "") + ".xlsx");
+
+        if (Files.isRegularFile(file))
+            return file;
+
+        Files.createDirectories(DIRECTORY);
+
+        final List<Field> fields = fieldsOf(type);
+        if (reversed)
+            Collections.reverse(fields);
+
+        final Path temp = Files.createTempFile(DIRECTORY, file.getFileName().toString(), ".tmp");
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(1_000);
+        workbook.setCompressTempFiles(true);
+
+        try {
+            final Sheet sheet = workbook.createSheet();
+            final CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+
+            final Row header = sheet.createRow(0);
+            for (int column = 0; column < fields.size(); column++)
+                header.createCell(column).setCellValue(fields.get(column).getName());
+
+            final Random random = new Random(SEED);
+
+            for (int index = 1; index <= rows; index++) {
+                final Row row = sheet.createRow(index);
+
+                for (int column = 0; column < fields.size(); column++)
+                    fill(row.createCell(column), fields.get(column).getType(), index, random, dateStyle);
+            }
+
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                workbook.write(out);
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+            Files.deleteIfExists(temp);
+        }
+
+        return file;
+    }
+
+    /*
+     *  the same rows as workbook() as comma separated text, dates are written as yyyy-MM-dd HH:mm
+     */
+    public static Path delimited(final Class<?> type, final int rows, final boolean reversed) throws IOException {
+        final Path file = DIRECTORY.resolve(type.getSimpleName() + "-" + rows + (reversed ? "-reversed" : "") + ".csv");
+
+        if (Files.isRegularFile(file))
+            return file;
+
+        Files.createDirectories(DIRECTORY);
+
+        final List<Field> fields = fieldsOf(type);
+        if (reversed)
+            Collections.reverse(fields);
+
+        final Path temp = Files.createTempFile(DIRECTORY, file.getFileName().toString(), ".tmp");
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (int column = 0; column < fields.size(); column++) {
+                    if (column > 0)
+                        out.write(',');
+                    out.write(fields.get(column).getName());
+                }
+
+                out.write('\n');
+
+                final Random random = new Random(SEED);
+
+                for (int index = 1; index <= rows; index++) {
+                    for (int column = 0; column < fields.size(); column++) {
+                        if (column > 0)
+                            out.write(',');
+                        out.write(text(fields.get(column).getType(), index, random, dateFormat));
+                    }
+
+                    out.write('\n');
+                }
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        return file;
+    }
+
+    public static List<Field> fieldsOf(final Class<?> type) {
+        final List<Field> fields = new ArrayList<>();
+
+        for (final Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()))
+                fields.add(field);
+        }
+
+        return fields;
+    }
+
+    private static void fill(final Cell cell, final Class<?> type, final int index, final Random random,
+                             final CellStyle dateStyle) {
+        if (type == String.class) {
+            cell.setCellValue("value-" + index + "-" + random.nextInt(1_000));
+        } else if (type == int.class || type == long.class) {
+            cell.setCellValue(index * 7L + random.nextInt(100));
+        } else if (type == float.class || type == double.class) {
+            cell.setCellValue(random.nextDouble() * 10_000);
+        } else if (type == boolean.class) {
+            cell.setCellValue(random.nextBoolean());
+        } else if (type == Date.class) {
+            cell.setCellValue(new Date(EPOCH + index * 60_000L));
+            cell.setCellStyle(dateStyle);
+        }
+    }
+
+    private static String text(final Class<?> type, final int index, final Random random,
+                               final SimpleDateFormat dateFormat) {
+        if (type == String.class)
+            return "value-" + index + "-" + random.nextInt(1_000);
+
+        if (type == int.class || type == long.class)
+            return String.valueOf(index * 7L + random.nextInt(100));
+
+        if (type == float.class || type == double.class)
+            return String.valueOf(random.nextDouble() * 10_000);
+
+        if (type == boolean.class)
+            return String.valueOf(random.nextBoolean());
+
+        if (type == Date.class)
+            return dateFormat.format(new Date(EPOCH + index * 60_000L));
+
+        return "";
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks.spreadsheet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utilities.datahandler.SpreadsheetObjectMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ *  MapBenchmark at a million rows. a loaded million row workbook does not fit into the heap next to its mapped
+ *  records, so workbooks are only streamed here while csv files are loaded and streamed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class LargeMapBenchmark {
+    private static final int ROWS = 1_000_000;
+
+    @Param({"narrow", "wide"})
+    public String fields;
+
+    @Param({"declared", "reversed"})
+    public String columnOrder;
+
+    private String workbook;
+
+    private String delimited;
+
+    private Class<?> type;
+
+    @Setup
+    public void createFixtures() throws Exception {
+        type = "wide".equals(fields) ? WideRecord.class : NarrowRecord.class;
+        final boolean reversed = "reversed".equals(columnOrder);
+        workbook = Fixtures.workbook(type, ROWS, reversed).toString();
+        delimited = Fixtures.delimited(type, ROWS, reversed).toString();
+    }
+
+    @Benchmark
+    public void streamXlsx(final Blackhole blackhole) throws Exception {
+        stream(workbook, blackhole);
+    }
+
+    @Benchmark
+    public void streamCsv(final Blackhole blackhole) throws Exception {
+        stream(delimited, blackhole);
+    }
+
+    @Benchmark
+    public List<Object> performCsv() throws Exception {
+        return new SpreadsheetObjectMapper.Map().from(delimited).worksheet(0).to(type).perform();
+    }
+
+    private void stream(final String file, final Blackhole blackhole) throws Exception {
+        try (Stream<Object> records = new SpreadsheetObjectMapper.Map().from(file).worksheet(0).to(type).stream()) {
+            records.forEach(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package benchmarks.spreadsheet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utilities.datahandler.SpreadsheetObjectMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ *  SpreadsheetObjectMapper.Map over workbooks and csv files of different sizes, widths and column orders,
+ *  loading the whole file (perform) and streaming it (stream), through the generated RowReaders or reflection.
+ *  a million rows are measured by LargeMapBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class MapBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    @Param({"narrow", "wide"})
+    public String fields;
+
+    @Param({"declared", "reversed"})
+    public String columnOrder;
+
+    @Param({"xlsx", "csv"})
+    public String format;
+
+    @Param({"generated", "reflection"})
+    public String mappers;
+
+    private String file;
+
+    private Class<?> type;
+
+    @Setup
+    public void createFixture() throws Exception {
+        Fixtures.useGeneratedMappers("generated".equals(mappers));
+        type = "wide".equals(fields) ? WideRecord.class : NarrowRecord.class;
+        final boolean reversed = "reversed".equals(columnOrder);
+        file = ("csv".equals(format) ? Fixtures.delimited(type, rows, reversed) : Fixtures.workbook(type, rows, reversed)).toString();
+    }
+
+    @Benchmark
+    public List<Object> perform() throws Exception {
+        return new SpreadsheetObjectMapper.Map().from(file).worksheet(0).to(type).perform();
+    }
+
+    @Benchmark
+    public void stream(final Blackhole blackhole) throws Exception {
+        try (Stream<Object> records = new SpreadsheetObjectMapper.Map().from(file).worksheet(0).to(type).stream()) {
+            records.forEach(blackhole::consume);
+        }
+    }
+}
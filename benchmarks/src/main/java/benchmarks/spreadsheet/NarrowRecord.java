@@ -0,0 +1,26 @@
+package benchmarks.spreadsheet;
+
+import utilities.datahandler.annotations.SpreadsheetRecord;
+
+/*
+ *  four columns, one of each common cell type. the fields are package-private so the generated
+ *  mappers read and write them directly
+ */
+@SpreadsheetRecord
+public class NarrowRecord {
+    int id;
+
+    String name;
+
+    double amount;
+
+    boolean active;
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
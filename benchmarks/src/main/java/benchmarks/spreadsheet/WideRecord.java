@@ -0,0 +1,44 @@
+package benchmarks.spreadsheet;
+
+import utilities.datahandler.annotations.SpreadsheetRecord;
+
+import java.util.Date;
+
+/*
+ *  twelve columns covering every type the mapper converts. the fields are package-private so the generated
+ *  mappers read and write them directly
+ */
+@SpreadsheetRecord
+public class WideRecord {
+    int id;
+
+    String name;
+
+    double amount;
+
+    boolean active;
+
+    Date created;
+
+    long code;
+
+    float ratio;
+
+    String note;
+
+    String city;
+
+    int quantity;
+
+    double price;
+
+    boolean enabled;
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,107 @@
+package benchmarks.spreadsheet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utilities.datahandler.SpreadsheetObjectMapper;
+import utilities.datahandler.SpreadsheetObjectWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ *  SpreadsheetObjectWriter writing records that were read from a generated fixture, with the regular
+ *  workbook and the streaming (SXSSF) one, through the generated RowWriters or reflection. writeObjects and
+ *  save are measured separately and together
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class WriteBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    @Param({"narrow", "wide"})
+    public String fields;
+
+    @Param({"0", "100"})
+    public int rowAccessWindow;
+
+    @Param({"generated", "reflection"})
+    public String mappers;
+
+    private List<Object> records;
+
+    private Path directory;
+
+    private SpreadsheetObjectWriter written;
+
+    @Setup
+    public void readRecords() throws Exception {
+        Fixtures.useGeneratedMappers("generated".equals(mappers));
+        final Class<?> type = "wide".equals(fields) ? WideRecord.class : NarrowRecord.class;
+        records = new SpreadsheetObjectMapper.Map().from(Fixtures.workbook(type, rows, false).toString())
+                .worksheet(0).to(type).perform();
+        directory = Files.createTempDirectory("write-benchmark");
+    }
+
+    /*
+     *  a workbook filled with the records for saveOnly
+     */
+    @Setup(Level.Invocation)
+    public void fillWriter() {
+        written = new SpreadsheetObjectWriter(rowAccessWindow, false);
+        written.writeObjects(records);
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeWriter() {
+        written.dispose();
+    }
+
+    @TearDown
+    public void deleteOutput() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public SpreadsheetObjectWriter writeObjects() {
+        final SpreadsheetObjectWriter writer = new SpreadsheetObjectWriter(rowAccessWindow, false);
+        writer.writeObjects(records);
+        writer.dispose();
+        return writer;
+    }
+
+    @Benchmark
+    public void saveOnly() {
+        written.save(directory.toString());
+    }
+
+    @Benchmark
+    public void writeObjectsAndSave() {
+        final SpreadsheetObjectWriter writer = new SpreadsheetObjectWriter(rowAccessWindow, false);
+        writer.writeObjects(records);
+        writer.save(directory.toString());
+    }
+}
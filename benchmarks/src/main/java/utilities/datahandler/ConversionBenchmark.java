@@ -0,0 +1,164 @@
+package utilities.datahandler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/*
+ *  converting one in-memory row into an object, per cell type and field access mode. lives in the package of
+ *  BindingPlan to measure it without a workbook around it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({"int", "long", "float", "double", "boolean", "string", "date"})
+    public String type;
+
+    @Param({"methodhandle", "reflection"})
+    public String access;
+
+    private BindingPlan<?> plan;
+
+    private SpreadsheetRow row;
+
+    @Setup
+    public void createPlan() {
+        FieldAccessorFactory.setDefault(FieldAccessorFactory.fromConfig(access));
+
+        final Object value;
+        final Class<?> target;
+
+        switch (type) {
+            case "int":
+                target = IntRecord.class;
+                value = 42.0;
+                break;
+            case "long":
+                target = LongRecord.class;
+                value = 4_200_000_000.0;
+                break;
+            case "float":
+                target = FloatRecord.class;
+                value = 4.2;
+                break;
+            case "double":
+                target = DoubleRecord.class;
+                value = 4.2;
+                break;
+            case "boolean":
+                target = BooleanRecord.class;
+                value = Boolean.TRUE;
+                break;
+            case "date":
+                target = DateRecord.class;
+                value = new Date(1_600_000_000_000L);
+                break;
+            default:
+                target = StringRecord.class;
+                value = "value";
+        }
+
+        row = new ValueRow(value);
+        plan = BindingPlan.of(target, new String[] {"value"});
+    }
+
+    @Benchmark
+    public Object map() {
+        return plan.map(row);
+    }
+
+    /*
+     *  a single cell row holding the value as the poi getters would return it
+     */
+    private static final class ValueRow implements SpreadsheetRow {
+        private final Object value;
+
+        private ValueRow(final Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 1;
+        }
+
+        @Override
+        public boolean hasCell(final int column) {
+            return column == 0;
+        }
+
+        @Override
+        public String getString(final int column) {
+            if (value instanceof String)
+                return (String) value;
+            throw new IllegalStateException("Cannot get a STRING value from a NUMERIC cell");
+        }
+
+        @Override
+        public double getNumeric(final int column) {
+            if (value instanceof Double)
+                return (Double) value;
+            if (value instanceof Date)
+                return ((Date) value).getTime();
+            throw new IllegalStateException("Cannot get a NUMERIC value from a STRING cell");
+        }
+
+        @Override
+        public boolean getBoolean(final int column) {
+            if (value instanceof Boolean)
+                return (Boolean) value;
+            throw new IllegalStateException("Cannot get a BOOLEAN value from a NUMERIC cell");
+        }
+
+        @Override
+        public Date getDate(final int column) {
+            if (value instanceof Date)
+                return (Date) value;
+            throw new IllegalStateException("Cannot get a DATE value from a STRING cell");
+        }
+    }
+
+    public static class IntRecord {
+        private int value;
+    }
+
+    public static class LongRecord {
+        private long value;
+    }
+
+    public static class FloatRecord {
+        private float value;
+    }
+
+    public static class DoubleRecord {
+        private double value;
+    }
+
+    public static class BooleanRecord {
+        private boolean value;
+    }
+
+    public static class StringRecord {
+        private String value;
+    }
+
+    public static class DateRecord {
+        private Date value;
+    }
+}
@@ -0,0 +1,504 @@
+package utilities.datahandler.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ *  generates <Class>_RowReader and <Class>_RowWriter for every class annotated with @SpreadsheetRecord. the
+ *  generated classes read and write the fields directly, or through their setters and getters when the fields
+ *  are private, so mapping a row needs no reflection. the columns follow the rules of the reflection based
+ *  mapper and writer, see utilities.datahandler.annotations.Column: fields of unsupported types keep their
+ *  column and are written as empty cells. final fields are written but not read, they cannot be assigned
+ */
+@SupportedAnnotationTypes(SpreadsheetRecordProcessor.RECORD)
+public class SpreadsheetRecordProcessor extends AbstractProcessor {
+    static final String RECORD = "utilities.datahandler.annotations.SpreadsheetRecord";
+
+    private static final String COLUMN = "utilities.datahandler.annotations.Column";
+
+    private static final String READER_SUFFIX = "_RowReader";
+
+    private static final String WRITER_SUFFIX = "_RowWriter";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : round.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@SpreadsheetRecord is only supported on classes");
+                    continue;
+                }
+
+                final TypeElement type = (TypeElement) element;
+
+                if (!isInstantiable(type))
+                    continue;
+
+                final List<ColumnField> fields = fieldsOf(type);
+
+                if (fields == null)
+                    continue;
+
+                try {
+                    writeReader(type, fields);
+                    writeWriter(type, fields);
+                } catch (final IOException ex) {
+                    error(type, "Unable to generate the spreadsheet mappers: " + ex.getMessage());
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isInstantiable(final TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "@SpreadsheetRecord classes cannot be abstract");
+            return false;
+        }
+
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            error(type, "@SpreadsheetRecord classes cannot be local or anonymous classes");
+            return false;
+        }
+
+        for (Element enclosing = type; enclosing.getKind() != ElementKind.PACKAGE; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+                error(type, "@SpreadsheetRecord classes cannot be private");
+                return false;
+            }
+
+            if (((TypeElement) enclosing).getNestingKind() == NestingKind.MEMBER
+                    && !enclosing.getModifiers().contains(Modifier.STATIC)) {
+                error(type, "@SpreadsheetRecord classes cannot be inner classes, make them static");
+                return false;
+            }
+        }
+
+        final List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+
+        for (final ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE))
+                return true;
+        }
+
+        error(type, "@SpreadsheetRecord classes need a non-private no-argument constructor");
+        return false;
+    }
+
+    /*
+     *  the supported instance fields in declaration order with their cell positions, null after an error
+     */
+    private List<ColumnField> fieldsOf(final TypeElement type) {
+        final List<ColumnField> fields = new ArrayList<>();
+        boolean valid = true;
+
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC))
+                continue;
+
+            final Kind kind = Kind.of(field.asType());
+            final ColumnField column = new ColumnField(field, kind);
+            readColumn(field, column);
+
+            if (kind == null) {
+                warning(field, "Fields of type " + field.asType() + " are written as empty cells and not read");
+                fields.add(column);
+                continue;
+            }
+
+            column.readable = !field.getModifiers().contains(Modifier.FINAL);
+
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                column.setter = column.readable ? findAccessor(type, field, "set") : null;
+                column.getter = findAccessor(type, field, field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get");
+
+                if (column.getter == null && field.asType().getKind() == TypeKind.BOOLEAN)
+                    column.getter = findAccessor(type, field, "get");
+
+                if ((column.readable && column.setter == null) || column.getter == null) {
+                    error(field, "Private field " + field.getSimpleName() + " needs a non-private "
+                            + (column.readable ? "setter and getter" : "getter") + ", or make the field package-private");
+                    valid = false;
+                    continue;
+                }
+            }
+
+            fields.add(column);
+        }
+
+        return valid && assignPositions(type, fields) ? fields : null;
+    }
+
+    private void readColumn(final VariableElement field, final ColumnField column) {
+        column.name = field.getSimpleName().toString();
+
+        for (final AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!COLUMN.equals(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString()))
+                continue;
+
+            for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                    : mirror.getElementValues().entrySet()) {
+                final String name = value.getKey().getSimpleName().toString();
+                final Object constant = value.getValue().getValue();
+
+                if ("name".equals(name) && !((String) constant).isEmpty())
+                    column.name = (String) constant;
+                else if ("index".equals(name))
+                    column.index = (Integer) constant;
+                else if ("format".equals(name) && !((String) constant).isEmpty())
+                    column.format = (String) constant;
+            }
+        }
+    }
+
+    private String findAccessor(final TypeElement type, final VariableElement field, final String prefix) {
+        final String name = field.getSimpleName().toString();
+        final String method = prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final boolean setter = "set".equals(prefix);
+
+        for (final ExecutableElement candidate : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!candidate.getSimpleName().contentEquals(method) || candidate.getModifiers().contains(Modifier.PRIVATE)
+                    || candidate.getModifiers().contains(Modifier.STATIC))
+                continue;
+
+            if (setter && candidate.getParameters().size() == 1
+                    && processingEnv.getTypeUtils().isSameType(candidate.getParameters().get(0).asType(), field.asType()))
+                return method;
+
+            if (!setter && candidate.getParameters().isEmpty()
+                    && processingEnv.getTypeUtils().isSameType(candidate.getReturnType(), field.asType()))
+                return method;
+        }
+
+        return null;
+    }
+
+    /*
+     *  fields with an index keep it, the others fill the free positions in declaration order
+     */
+    private boolean assignPositions(final TypeElement type, final List<ColumnField> fields) {
+        final List<Integer> taken = new ArrayList<>();
+
+        for (final ColumnField field : fields) {
+            if (field.index < 0)
+                continue;
+
+            if (taken.contains(field.index)) {
+                error(field.element, "Column " + field.index + " is used by another field of " + type.getSimpleName());
+                return false;
+            }
+
+            taken.add(field.index);
+            field.position = field.index;
+        }
+
+        int next = 0;
+
+        for (final ColumnField field : fields) {
+            if (field.index >= 0)
+                continue;
+
+            while (taken.contains(next))
+                next++;
+
+            field.position = next++;
+        }
+
+        return true;
+    }
+
+    /*
+     *  only fields that can be assigned are read, the others keep the value the constructor gives them
+     */
+    private void writeReader(final TypeElement type, final List<ColumnField> columns) throws IOException {
+        final List<ColumnField> fields = new ArrayList<>();
+
+        for (final ColumnField column : columns) {
+            if (column.readable)
+                fields.add(column);
+        }
+
+        final String record = type.getQualifiedName().toString();
+        final String name = generatedName(type, READER_SUFFIX);
+        final StringBuilder source = header(type, name, "utilities.datahandler.RowReader<" + record + ">");
+
+        source.append("    private static final String[] FIELDS = {").append(join(fields, Part.FIELD)).append("};\n\n");
+        source.append("    private static final String[] NAMES = {").append(join(fields, Part.NAME)).append("};\n\n");
+        source.append("    private static final int[] INDEXES = {").append(join(fields, Part.INDEX)).append("};\n\n");
+
+        source.append("    @Override\n    public String[] fieldNames() {\n        return FIELDS.clone();\n    }\n\n");
+        source.append("    @Override\n    public String[] columnNames() {\n        return NAMES.clone();\n    }\n\n");
+        source.append("    @Override\n    public int[] columnIndexes() {\n        return INDEXES.clone();\n    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public ").append(record).append(" read(final utilities.datahandler.SpreadsheetRow row, final int[] columns) {\n");
+        source.append("        final ").append(record).append(" obj = new ").append(record).append("();\n");
+
+        for (int i = 0; i < fields.size(); i++) {
+            final ColumnField field = fields.get(i);
+
+            source.append("\n        if (columns[").append(i).append("] >= 0) {\n");
+            source.append("            try {\n");
+            source.append("                ").append(field.assign(field.kind.read("columns[" + i + "]"))).append(";\n");
+            source.append("            } catch (final RuntimeException ex) {\n");
+
+            if (!field.kind.primitive)
+                source.append("                ").append(field.assign("null")).append(";\n");
+
+            source.append("            }\n");
+            source.append("        }\n");
+        }
+
+        source.append("\n        return obj;\n    }\n}\n");
+        write(type, name, source);
+    }
+
+    private void writeWriter(final TypeElement type, final List<ColumnField> fields) throws IOException {
+        final String record = type.getQualifiedName().toString();
+        final String name = generatedName(type, WRITER_SUFFIX);
+        final StringBuilder source = header(type, name, "utilities.datahandler.RowWriter<" + record + ">");
+
+        int size = 0;
+
+        for (final ColumnField field : fields)
+            size = Math.max(size, field.position + 1);
+
+        final String[] headers = new String[size];
+        final String[] formats = new String[size];
+
+        for (final ColumnField field : fields) {
+            headers[field.position] = field.name;
+            formats[field.position] = field.format;
+        }
+
+        source.append("    private static final String[] HEADERS = {").append(literals(headers)).append("};\n\n");
+        source.append("    private static final String[] FORMATS = {").append(literals(formats)).append("};\n\n");
+
+        source.append("    @Override\n    public String[] headers() {\n        return HEADERS.clone();\n    }\n\n");
+        source.append("    @Override\n    public String[] formats() {\n        return FORMATS.clone();\n    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public void write(final ").append(record).append(" obj, final org.apache.poi.ss.usermodel.Row row,\n");
+        source.append("                      final org.apache.poi.ss.usermodel.CellStyle[] styles) {\n");
+        source.append("        org.apache.poi.ss.usermodel.Cell cell;\n");
+
+        for (final ColumnField field : fields) {
+            source.append("\n        cell = row.createCell(").append(field.position).append(");\n");
+
+            if (field.kind == null) {
+                /* unsupported types get an empty cell, like the reflection based writer writes */
+            } else if (field.kind.primitive) {
+                source.append("        cell.setCellValue(").append(field.read()).append(");\n");
+            } else {
+                source.append("        {\n");
+                source.append("            final ").append(field.kind.type).append(" value = ").append(field.read()).append(";\n\n");
+                source.append("            if (value != null)\n");
+                source.append("                cell.setCellValue(value);\n");
+                source.append("        }\n");
+            }
+
+            if (field.format != null) {
+                source.append("\n        if (styles != null && styles[").append(field.position).append("] != null)\n");
+                source.append("            cell.setCellStyle(styles[").append(field.position).append("]);\n");
+            }
+        }
+
+        source.append("    }\n}\n");
+        write(type, name, source);
+    }
+
+    private StringBuilder header(final TypeElement type, final String name, final String implemented) {
+        final StringBuilder source = new StringBuilder();
+        final String pkg = packageOf(type);
+
+        if (!pkg.isEmpty())
+            source.append("package ").append(pkg).append(";\n\n");
+
+        source.append("/*\n *  generated from ").append(type.getQualifiedName())
+                .append(" by ").append(getClass().getName()).append(", do not edit\n */\n");
+        source.append("public final class ").append(name).append(" implements ").append(implemented).append(" {\n\n");
+        return source;
+    }
+
+    private void write(final TypeElement type, final String name, final StringBuilder source) throws IOException {
+        final String pkg = packageOf(type);
+
+        try (Writer out = processingEnv.getFiler().createSourceFile(pkg.isEmpty() ? name : pkg + "." + name, type).openWriter()) {
+            out.write(source.toString());
+        }
+    }
+
+    private String packageOf(final TypeElement type) {
+        final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    }
+
+    /*
+     *  Outer.Inner gets Outer_Inner_RowReader, matching the lookup of the framework
+     */
+    private String generatedName(final TypeElement type, final String suffix) {
+        final String binary = processingEnv.getElementUtils().getBinaryName(type).toString();
+        final String pkg = packageOf(type);
+        return (pkg.isEmpty() ? binary : binary.substring(pkg.length() + 1)).replace('$', '_') + suffix;
+    }
+
+    private String join(final List<ColumnField> fields, final Part part) {
+        final StringBuilder joined = new StringBuilder();
+
+        for (final ColumnField field : fields) {
+            if (joined.length() > 0)
+                joined.append(", ");
+
+            if (part == Part.INDEX)
+                joined.append(field.index < 0 ? -1 : field.index);
+            else
+                joined.append(literal(part == Part.FIELD ? field.element.getSimpleName().toString() : field.name));
+        }
+
+        return joined.toString();
+    }
+
+    private String literals(final String[] values) {
+        final StringBuilder joined = new StringBuilder();
+
+        for (final String value : values) {
+            if (joined.length() > 0)
+                joined.append(", ");
+
+            joined.append(value == null ? "null" : literal(value));
+        }
+
+        return joined.toString();
+    }
+
+    private String literal(final String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private void error(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void warning(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    private enum Part {
+        FIELD, NAME, INDEX
+    }
+
+    private enum Kind {
+        STRING("String", "row.getString(%s)", false),
+        DATE("java.util.Date", "row.getDate(%s)", false),
+        INT("int", "(int) row.getNumeric(%s)", true),
+        LONG("long", "(long) row.getNumeric(%s)", true),
+        FLOAT("float", "(float) row.getNumeric(%s)", true),
+        DOUBLE("double", "row.getNumeric(%s)", true),
+        BOOLEAN("boolean", "row.getBoolean(%s)", true);
+
+        private final String type;
+
+        private final String read;
+
+        private final boolean primitive;
+
+        Kind(final String type, final String read, final boolean primitive) {
+            this.type = type;
+            this.read = read;
+            this.primitive = primitive;
+        }
+
+        String read(final String column) {
+            return String.format(read, column);
+        }
+
+        static Kind of(final TypeMirror type) {
+            switch (type.getKind()) {
+                case INT:
+                    return INT;
+                case LONG:
+                    return LONG;
+                case FLOAT:
+                    return FLOAT;
+                case DOUBLE:
+                    return DOUBLE;
+                case BOOLEAN:
+                    return BOOLEAN;
+                case DECLARED:
+                    final String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+
+                    if ("java.lang.String".equals(name))
+                        return STRING;
+
+                    if ("java.util.Date".equals(name))
+                        return DATE;
+
+                    return null;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static final class ColumnField {
+        private final VariableElement element;
+
+        private final Kind kind;
+
+        private String name;
+
+        private int index = -1;
+
+        private String format;
+
+        private int position;
+
+        private String setter;
+
+        private String getter;
+
+        private boolean readable;
+
+        private ColumnField(final VariableElement element, final Kind kind) {
+            this.element = element;
+            this.kind = kind;
+        }
+
+        String assign(final String value) {
+            return setter == null ? "obj." + element.getSimpleName() + " = " + value : "obj." + setter + "(" + value + ")";
+        }
+
+        String read() {
+            return getter == null ? "obj." + element.getSimpleName() : "obj." + getter + "()";
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package customexception;
+
+public class DriverUnavailableException extends RuntimeException {
+    public DriverUnavailableException(final String msg) {
+        super(msg);
+    }
+}
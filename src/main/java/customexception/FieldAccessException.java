@@ -0,0 +1,7 @@
+package customexception;
+
+public class FieldAccessException extends RuntimeException {
+    public FieldAccessException(final String msg, final Throwable cause) {
+        super(msg, cause);
+    }
+}
@@ -1,7 +1,29 @@
 package pages;
 
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+import utilities.pagefactory.CachingElementLocatorFactory;
+import utilities.pagefactory.CachingFieldDecorator;
+import utilities.pagefactory.LookupStatistics;
 
 public abstract class BasePage {
-    protected static WebDriver webDriver;
+    protected final WebDriver webDriver;
+
+    private final CachingElementLocatorFactory locatorFactory;
+
+    protected BasePage(WebDriver webDriver) {
+        this.webDriver = webDriver;
+        this.locatorFactory = new CachingElementLocatorFactory(webDriver);
+    }
+
+    /*
+     *  elements are looked up once and reused until the driver navigates or the element goes stale
+     */
+    protected void initElements() {
+        PageFactory.initElements(new CachingFieldDecorator(locatorFactory), this);
+    }
+
+    public LookupStatistics getLookupStatistics() {
+        return locatorFactory.getStatistics();
+    }
 }
@@ -4,7 +4,6 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.How;
-import org.openqa.selenium.support.PageFactory;
 
 public class LoginPage extends BasePage {
 
@@ -18,8 +17,8 @@ public class LoginPage extends BasePage {
     public WebElement btnLogin;
 
     public LoginPage(WebDriver webDriver) {
-        super.webDriver = webDriver;
-        PageFactory.initElements(webDriver, this);
+        super(webDriver);
+        initElements();
     }
 
 }
@@ -2,21 +2,52 @@ package pagesteps;
 
 import org.openqa.selenium.WebDriver;
 import utilities.actions.SeleniumActions;
+import utilities.metrics.ActionMetrics;
+import utilities.pagefactory.NavigationTracker;
+import utilities.properties.ConfigKey;
 
 public abstract class BasePageSteps {
     protected static final String PAGE_URL = "https://www.phptravels.net/login";
 
-    protected static WebDriver webDriver;
+    /*
+     *  the login page can be pointed at another environment with "app.url" (or APP_URL)
+     */
+    public static final ConfigKey<String> APP_URL = ConfigKey.ofString("app.url", PAGE_URL);
+
+    protected final WebDriver webDriver;
 
     /*
      *  put methods that will be used by all page steps on this class
      */
     public BasePageSteps(WebDriver webDriver) {
         this.webDriver = webDriver;
-        SeleniumActions.webDriver = this.webDriver;
+        SeleniumActions.setWebDriver(this.webDriver);
     }
 
     public void open_php_travels_page() {
-        webDriver.get(PAGE_URL);
+        navigateTo(APP_URL.get());
+    }
+
+    /*
+     *  navigations have to go through here so cached page elements are looked up again afterwards
+     */
+    protected void navigateTo(String url) {
+        webDriver.get(url);
+        NavigationTracker.navigated(webDriver);
+    }
+
+    /*
+     *  runs a page step, the actions inside it are tagged with the step name in ActionMetrics
+     *  and the step itself is timed as a whole
+     */
+    protected void step(String name, Runnable body) {
+        final String previous = ActionMetrics.enterPage(name);
+        final long start = ActionMetrics.start();
+        try {
+            body.run();
+        } finally {
+            ActionMetrics.record("step", getClass().getSimpleName(), start);
+            ActionMetrics.restorePage(previous);
+        }
     }
 }
@@ -1,10 +1,25 @@
 package pagesteps;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import pages.LoginPage;
+import utilities.properties.ConfigKey;
+import utilities.session.SessionCache;
+import utilities.session.SessionSnapshot;
+
 import static utilities.actions.SeleniumActions.*;
 
 public class LoginPageSteps extends BasePageSteps {
+    private static final String EMAIL = "user@phptravels.com";
+
+    private static final String PASSWORD = "demouser";
+
+    /*
+     *  an element only logged in users see, "app.logged.in.xpath" for environments with another account page
+     */
+    public static final ConfigKey<String> LOGGED_IN_XPATH =
+            ConfigKey.ofString("app.logged.in.xpath", "//a[contains(@href,'logout')]");
+
     protected LoginPage loginPage;
 
     public LoginPageSteps(WebDriver webDriver) {
@@ -13,9 +28,68 @@ public class LoginPageSteps extends BasePageSteps {
     }
 
     public void login() {
-        type(waitForVisibilityOf(loginPage.txtEmail), "user@phptravels.com");
-        type(loginPage.txtPassword, "demouser");
-        click(waitToBeClickable(loginPage.btnLogin));
+        login(EMAIL, PASSWORD);
+    }
+
+    public void login(String email, String password) {
+        step("login", () -> {
+            type(waitForVisibilityOf(loginPage.txtEmail), email);
+            type(loginPage.txtPassword, password);
+            click(waitToBeClickable(loginPage.btnLogin));
+        });
+    }
+
+    public void ensureLoggedIn() {
+        ensureLoggedIn(EMAIL, PASSWORD);
+    }
+
+    /*
+     *  logs in by restoring the session captured after an earlier login with the same email, see SessionCache.
+     *  the login form is only used for the first login, or when the restored session is no longer logged in.
+     *  restores run in parallel, only the form login and capture are done by one test at a time per email
+     */
+    public void ensureLoggedIn(String email, String password) {
+        step("ensureLoggedIn", () -> {
+            final SessionCache sessions = SessionCache.getDefault();
+            final String key = email + " " + APP_URL.get();
+            final SessionSnapshot tried = sessions.get(key);
+
+            if (tried != null && restoreSession(sessions, key))
+                return;
+
+            synchronized (sessions.lockFor(key)) {
+                final SessionSnapshot current = sessions.get(key);
+
+                /* another test logged in while this one waited for the lock */
+                if (current != null && current != tried && restoreSession(sessions, key))
+                    return;
+
+                if (current != null)
+                    sessions.invalidate(key);
+
+                open_php_travels_page();
+                login(email, password);
+                initializeWait().until(driver -> isLoggedIn());
+                sessions.capture(webDriver, key);
+            }
+        });
+    }
+
+    private boolean restoreSession(final SessionCache sessions, final String key) {
+        if (!sessions.restore(webDriver, key))
+            return false;
+
+        open_php_travels_page();
+        return isLoggedIn();
+    }
+
+    /*
+     *  the login page sends logged in users on to their account, but error and timeout pages also leave it, so
+     *  the account page has to show the logged in marker too. without it the caller falls back to the login form
+     */
+    public boolean isLoggedIn() {
+        return !webDriver.getCurrentUrl().startsWith(APP_URL.get())
+                && !webDriver.findElements(By.xpath(LOGGED_IN_XPATH.get())).isEmpty();
     }
 
 }
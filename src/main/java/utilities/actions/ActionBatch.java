@@ -0,0 +1,114 @@
+package utilities.actions;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import utilities.metrics.ActionMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ *  collects type, click and scroll steps and runs all of them in a single executeScript round trip.
+ *  typed values are appended through the native value setter followed by input and change events, so
+ *  frameworks listening to those events see the same changes as with sendKeys.
+ *
+ *  SeleniumActions.batch()
+ *          .type(loginPage.txtEmail, "user@phptravels.com")
+ *          .type(loginPage.txtPassword, "demouser")
+ *          .click(loginPage.btnLogin)
+ *          .perform();
+ */
+public class ActionBatch {
+    private static final String TYPE = "type";
+
+    private static final String CLICK = "click";
+
+    private static final String SCROLL = "scroll";
+
+    private static final String SCRIPT =
+            "var steps = arguments[0];" +
+            "for (var i = 0; i < steps.length; i++) {" +
+            "  var kind = steps[i][0], el = steps[i][1], value = steps[i][2];" +
+            "  if (kind === 'scroll') { el.scrollIntoView(true); continue; }" +
+            "  if (kind === 'click') { el.click(); continue; }" +
+            "  el.focus();" +
+            "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype" +
+            "      : el instanceof HTMLInputElement ? HTMLInputElement.prototype : null;" +
+            "  var descriptor = proto ? Object.getOwnPropertyDescriptor(proto, 'value') : null;" +
+            "  if (descriptor && descriptor.set) { descriptor.set.call(el, el.value + value); }" +
+            "  else if (el.isContentEditable) { el.textContent = el.textContent + value; }" +
+            "  else { el.value = (el.value || '') + value; }" +
+            "  el.dispatchEvent(new Event('input', { bubbles: true }));" +
+            "  el.dispatchEvent(new Event('change', { bubbles: true }));" +
+            "}";
+
+    private final WebDriver webDriver;
+
+    private final List<List<Object>> steps = new ArrayList<>();
+
+    private boolean nativeInteractions;
+
+    public ActionBatch(final WebDriver webDriver) {
+        this.webDriver = webDriver;
+    }
+
+    public <T extends WebElement> ActionBatch type(final T element, final String value) {
+        steps.add(Arrays.<Object>asList(TYPE, element, value));
+        return this;
+    }
+
+    public <T extends WebElement> ActionBatch click(final T element) {
+        steps.add(Arrays.<Object>asList(CLICK, element, ""));
+        return this;
+    }
+
+    public <T extends WebElement> ActionBatch scrollIntoView(final T element) {
+        steps.add(Arrays.<Object>asList(SCROLL, element, ""));
+        return this;
+    }
+
+    /*
+     *  runs every step as its own native interaction (sendKeys, click) instead of one script,
+     *  for flows that depend on real keyboard or mouse events
+     */
+    public ActionBatch nativeInteractions() {
+        this.nativeInteractions = true;
+        return this;
+    }
+
+    public int size() {
+        return steps.size();
+    }
+
+    public void perform() {
+        if (steps.isEmpty())
+            return;
+
+        if (nativeInteractions || !(webDriver instanceof JavascriptExecutor)) {
+            performNatively();
+            return;
+        }
+
+        final long start = ActionMetrics.start();
+        try {
+            ((JavascriptExecutor) webDriver).executeScript(SCRIPT, steps);
+        } finally {
+            ActionMetrics.record("batch", steps.size() + " steps", start);
+        }
+    }
+
+    private void performNatively() {
+        for (final List<Object> step : steps) {
+            final WebElement element = (WebElement) step.get(1);
+
+            if (TYPE.equals(step.get(0)))
+                SeleniumActions.type(element, (String) step.get(2));
+            else if (CLICK.equals(step.get(0)))
+                SeleniumActions.click(element);
+            else
+                SeleniumActions.scrollIntoView(element);
+        }
+    }
+}
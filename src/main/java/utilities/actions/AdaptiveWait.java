@@ -0,0 +1,132 @@
+package utilities.actions;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+import utilities.properties.ConfigKey;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/*
+ *  waits for a condition by checking it right away and then polling with an exponential backoff.
+ *  the first pause is based on how long the same wait key took before, so conditions that are usually ready
+ *  quickly are polled every few milliseconds while slow ones skip the round trips that could not succeed yet.
+ *  an AdaptiveWait keeps no per call state and can be shared between threads
+ */
+public class AdaptiveWait {
+    public static final String TIMEOUT_PROPERTY = "wait.timeout.millis";
+
+    public static final String INITIAL_POLL_PROPERTY = "wait.poll.initial.millis";
+
+    public static final String MAX_POLL_PROPERTY = "wait.poll.max.millis";
+
+    public static final ConfigKey<Duration> TIMEOUT = ConfigKey.ofDuration(TIMEOUT_PROPERTY, Duration.ofSeconds(20));
+
+    public static final ConfigKey<Duration> INITIAL_POLL = ConfigKey.ofDuration(INITIAL_POLL_PROPERTY, Duration.ofMillis(5));
+
+    public static final ConfigKey<Duration> MAX_POLL = ConfigKey.ofDuration(MAX_POLL_PROPERTY, Duration.ofMillis(500));
+
+    private final Duration timeout;
+
+    private final long initialPollNanos;
+
+    private final long maxPollNanos;
+
+    private final WaitStatistics statistics;
+
+    public AdaptiveWait() {
+        this(TIMEOUT.get(), INITIAL_POLL.get(), MAX_POLL.get(), new WaitStatistics());
+    }
+
+    public AdaptiveWait(final Duration timeout, final Duration initialPoll, final Duration maxPoll,
+                        final WaitStatistics statistics) {
+        this.timeout = timeout;
+        this.initialPollNanos = Math.max(1, initialPoll.toNanos());
+        this.maxPollNanos = Math.max(initialPollNanos, maxPoll.toNanos());
+        this.statistics = statistics;
+    }
+
+    public WaitStatistics getStatistics() {
+        return statistics;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /*
+     *  a Wait bound to one driver, for code written against selenium's Wait interface
+     */
+    public Wait<WebDriver> forDriver(final WebDriver webDriver) {
+        return new Wait<WebDriver>() {
+            @Override
+            public <V> V until(final Function<? super WebDriver, V> condition) {
+                return AdaptiveWait.this.until(webDriver, "until", condition);
+            }
+        };
+    }
+
+    /*
+     *  returns the first value of the condition that is neither null nor false. element lookups that fail with
+     *  NotFoundException or StaleElementReferenceException are retried until the timeout
+     */
+    public <V> V until(final WebDriver webDriver, final String key, final Function<? super WebDriver, V> condition) {
+        final WaitStatistics.KeyStatistics keyStatistics = statistics.forKey(key);
+        final long start = System.nanoTime();
+        final long deadline = start + timeout.toNanos();
+        long pause = firstPause(keyStatistics);
+        int polls = 0;
+        WebDriverException lastError = null;
+
+        while (true) {
+            polls++;
+
+            try {
+                final V value = condition.apply(webDriver);
+
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    statistics.record(keyStatistics, System.nanoTime() - start, polls, false);
+                    return value;
+                }
+            } catch (final NotFoundException | StaleElementReferenceException ex) {
+                lastError = ex;
+            }
+
+            final long now = System.nanoTime();
+
+            if (now >= deadline) {
+                statistics.record(keyStatistics, now - start, polls, true);
+                throw new TimeoutException("Expected condition failed: " + key + " (tried for " + timeout.toMillis()
+                        + " ms, " + polls + " polls)", lastError);
+            }
+
+            sleep(Math.min(pause, deadline - now));
+
+            // after the learned first pause the backoff starts over from the initial poll interval
+            pause = polls == 1 ? initialPollNanos : Math.min(pause * 2, maxPollNanos);
+        }
+    }
+
+    private long firstPause(final WaitStatistics.KeyStatistics keyStatistics) {
+        final long expected = keyStatistics.expectedNanos();
+
+        if (expected <= 0)
+            return initialPollNanos;
+
+        // aim the first poll just before the usual latency, short polls cover the rest
+        return Math.max(initialPollNanos, Math.min(expected * 3 / 4, maxPollNanos));
+    }
+
+    private static void sleep(final long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", ex);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package utilities.actions;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+/*
+ *  describes an element by its locator without asking the browser, calling toString() on a PageFactory
+ *  proxy would look the element up first
+ */
+public final class Locators {
+    private static final String UNKNOWN = "element";
+
+    /*
+     *  the locator field of each invocation handler class, looked up once instead of on every recorded action
+     */
+    private static final ClassValue<Field> LOCATOR_FIELDS = new ClassValue<Field>() {
+        @Override
+        protected Field computeValue(final Class<?> type) {
+            return findLocatorField(type);
+        }
+    };
+
+    private Locators() {}
+
+    public static String describe(final WebElement element) {
+        if (element == null)
+            return UNKNOWN;
+
+        if (!Proxy.isProxyClass(element.getClass()))
+            return element.getClass().getSimpleName();
+
+        final InvocationHandler handler = Proxy.getInvocationHandler(element);
+        final ElementLocator locator = locatorOf(handler);
+
+        return locator == null ? UNKNOWN : locator.toString();
+    }
+
+    private static ElementLocator locatorOf(final InvocationHandler handler) {
+        final Field field = LOCATOR_FIELDS.get(handler.getClass());
+
+        if (field == null)
+            return null;
+
+        try {
+            return (ElementLocator) field.get(handler);
+        } catch (final IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    private static Field findLocatorField(final Class<?> handlerType) {
+        for (Class<?> type = handlerType; type != null; type = type.getSuperclass()) {
+            for (final Field field : type.getDeclaredFields()) {
+                if (!ElementLocator.class.isAssignableFrom(field.getType()))
+                    continue;
+
+                try {
+                    field.setAccessible(true);
+                    return field;
+                } catch (final RuntimeException ex) {
+                    return null;
+                }
+            }
+        }
+
+        return null;
+    }
+}
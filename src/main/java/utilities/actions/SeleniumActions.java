@@ -6,63 +6,148 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Wait;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
-import java.util.NoSuchElementException;
+import utilities.driver.DriverContext;
+import utilities.metrics.ActionMetrics;
 
 public final class SeleniumActions {
-    public static WebDriver webDriver;
+    private static final AdaptiveWait WAIT = new AdaptiveWait();
+
+    private static final ThreadLocal<BoundWait> BOUND_WAITS = new ThreadLocal<>();
+
+    /*
+     *  actions run against the driver bound to the calling thread, see DriverContext
+     */
+    public static WebDriver getWebDriver() {
+        return DriverContext.get();
+    }
+
+    public static void setWebDriver(WebDriver webDriver) {
+        DriverContext.bind(webDriver);
+    }
 
     public static Actions initializeActions() {
-        return new Actions(webDriver);
+        return new Actions(getWebDriver());
     }
 
+    /*
+     *  both waits poll adaptively (see AdaptiveWait) and are reused for as long as the thread keeps its driver
+     */
     public static Wait<WebDriver> initializeFluentWait() {
-        return new FluentWait<>(webDriver)
-                .withTimeout(Duration.ofSeconds(20))
-                .pollingEvery(Duration.ofSeconds(2))
-                .ignoring(NoSuchElementException.class);
+        return initializeWait();
     }
 
     public static Wait<WebDriver> initializeWait() {
-        return new WebDriverWait(webDriver, Duration.ofSeconds(20));
+        final WebDriver webDriver = getWebDriver();
+        BoundWait wait = BOUND_WAITS.get();
+
+        if (wait == null || wait.webDriver != webDriver) {
+            wait = new BoundWait(webDriver, WAIT.forDriver(webDriver));
+            BOUND_WAITS.set(wait);
+        }
+
+        return wait.wait;
     }
 
+    public static WaitStatistics getWaitStatistics() {
+        return WAIT.getStatistics();
+    }
+
+    /*
+     *  every action below is timed into ActionMetrics, tagged with its locator and the running page step
+     */
     public static WebElement findElement(By locator) {
-        return initializeWait().until(webDriver -> webDriver.findElement(locator));
+        final long start = ActionMetrics.start();
+        try {
+            return WAIT.until(getWebDriver(), "findElement " + locator, webDriver -> webDriver.findElement(locator));
+        } finally {
+            ActionMetrics.record("findElement", String.valueOf(locator), start);
+        }
     }
 
     public static <T extends WebElement> WebElement waitForVisibilityOf(T element) {
-        return initializeWait().until(ExpectedConditions.visibilityOf(element));
+        final String locator = Locators.describe(element);
+        final long start = ActionMetrics.start();
+        try {
+            return WAIT.until(getWebDriver(), "visibilityOf " + locator, ExpectedConditions.visibilityOf(element));
+        } finally {
+            ActionMetrics.record("waitForVisibilityOf", locator, start);
+        }
     }
 
     public static <T extends WebElement> WebElement waitToBeClickable(T element) {
-        return initializeFluentWait().until(ExpectedConditions.elementToBeClickable(element));
+        final String locator = Locators.describe(element);
+        final long start = ActionMetrics.start();
+        try {
+            return WAIT.until(getWebDriver(), "toBeClickable " + locator, ExpectedConditions.elementToBeClickable(element));
+        } finally {
+            ActionMetrics.record("waitToBeClickable", locator, start);
+        }
     }
 
     public static <T extends WebElement> void click(final T element) {
-        element.click();
+        final long start = ActionMetrics.start();
+        try {
+            element.click();
+        } finally {
+            ActionMetrics.record("click", element, start);
+        }
     }
 
     public static <T extends WebElement> void doubleClick(final T element) {
-        Actions actions = initializeActions();
-        actions.doubleClick(element).build().perform();
+        final long start = ActionMetrics.start();
+        try {
+            Actions actions = initializeActions();
+            actions.doubleClick(element).build().perform();
+        } finally {
+            ActionMetrics.record("doubleClick", element, start);
+        }
     }
 
     public static <T extends WebElement> void type(final T element, String value) {
-        element.sendKeys(value);
+        final long start = ActionMetrics.start();
+        try {
+            element.sendKeys(value);
+        } finally {
+            ActionMetrics.record("type", element, start);
+        }
     }
 
     public static <T extends WebElement> void moveToElement(final T element) {
-        Actions actions = initializeActions();
-        actions.moveToElement(element).build().perform();
+        final long start = ActionMetrics.start();
+        try {
+            Actions actions = initializeActions();
+            actions.moveToElement(element).build().perform();
+        } finally {
+            ActionMetrics.record("moveToElement", element, start);
+        }
     }
 
     public static <T extends WebElement> void scrollIntoView(final T element) {
-        JavascriptExecutor executor = (JavascriptExecutor) webDriver;
-        executor.executeScript("arguments[0].scrollIntoView(true);");
+        final long start = ActionMetrics.start();
+        try {
+            JavascriptExecutor executor = (JavascriptExecutor) getWebDriver();
+            executor.executeScript("arguments[0].scrollIntoView(true);", element);
+        } finally {
+            ActionMetrics.record("scrollIntoView", element, start);
+        }
+    }
+
+    /*
+     *  starts a batch of steps that runs in a single round trip to the browser, see ActionBatch
+     */
+    public static ActionBatch batch() {
+        return new ActionBatch(getWebDriver());
+    }
+
+    private static final class BoundWait {
+        private final WebDriver webDriver;
+
+        private final Wait<WebDriver> wait;
+
+        private BoundWait(final WebDriver webDriver, final Wait<WebDriver> wait) {
+            this.webDriver = webDriver;
+            this.wait = wait;
+        }
     }
 }
@@ -0,0 +1,145 @@
+package utilities.actions;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ *  time spent in waits, in total and per wait key (wait kind and locator). each key also keeps a moving
+ *  average of how long its condition took to become true, AdaptiveWait uses it to schedule the first poll
+ */
+public final class WaitStatistics {
+    private static final double SMOOTHING = 0.3;
+
+    private final ConcurrentHashMap<String, KeyStatistics> keys = new ConcurrentHashMap<>();
+
+    private final LongAdder waits = new LongAdder();
+
+    private final LongAdder polls = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder waitedNanos = new LongAdder();
+
+    KeyStatistics forKey(final String key) {
+        return keys.computeIfAbsent(key, ignored -> new KeyStatistics());
+    }
+
+    void record(final KeyStatistics key, final long nanos, final int pollCount, final boolean timedOut) {
+        waits.increment();
+        polls.add(pollCount);
+        waitedNanos.add(nanos);
+
+        if (timedOut)
+            timeouts.increment();
+
+        key.record(nanos, pollCount, timedOut);
+    }
+
+    public long getWaitCount() {
+        return waits.sum();
+    }
+
+    public long getPollCount() {
+        return polls.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(waitedNanos.sum());
+    }
+
+    /*
+     *  statistics per wait key, sorted by key
+     */
+    public Map<String, KeyStatistics> getKeys() {
+        return new TreeMap<>(keys);
+    }
+
+    public void reset() {
+        keys.clear();
+        waits.reset();
+        polls.reset();
+        timeouts.reset();
+        waitedNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder summary = new StringBuilder();
+        summary.append(String.format("waits=%d polls=%d timeouts=%d total=%dms%n",
+                getWaitCount(), getPollCount(), getTimeoutCount(), getTotalWaitTime().toMillis()));
+
+        for (final Map.Entry<String, KeyStatistics> entry : getKeys().entrySet())
+            summary.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append(System.lineSeparator());
+
+        return summary.toString();
+    }
+
+    public static final class KeyStatistics {
+        private final LongAdder waits = new LongAdder();
+
+        private final LongAdder polls = new LongAdder();
+
+        private final LongAdder timeouts = new LongAdder();
+
+        private final LongAdder waitedNanos = new LongAdder();
+
+        private volatile long expectedNanos = -1;
+
+        private void record(final long nanos, final int pollCount, final boolean timedOut) {
+            waits.increment();
+            polls.add(pollCount);
+            waitedNanos.add(nanos);
+
+            if (timedOut) {
+                timeouts.increment();
+                return;
+            }
+
+            final long previous = expectedNanos;
+            expectedNanos = previous < 0 ? nanos : (long) (SMOOTHING * nanos + (1 - SMOOTHING) * previous);
+        }
+
+        public long getWaitCount() {
+            return waits.sum();
+        }
+
+        public long getPollCount() {
+            return polls.sum();
+        }
+
+        public long getTimeoutCount() {
+            return timeouts.sum();
+        }
+
+        public Duration getTotalWaitTime() {
+            return Duration.ofNanos(waitedNanos.sum());
+        }
+
+        /*
+         *  moving average of the time until the condition was met, or null before the first successful wait
+         */
+        public Duration getExpectedLatency() {
+            final long nanos = expectedNanos;
+            return nanos < 0 ? null : Duration.ofNanos(nanos);
+        }
+
+        long expectedNanos() {
+            return expectedNanos;
+        }
+
+        @Override
+        public String toString() {
+            final Duration expected = getExpectedLatency();
+            return String.format("waits=%d polls=%d timeouts=%d total=%dms expected=%s",
+                    getWaitCount(), getPollCount(), getTimeoutCount(), getTotalWaitTime().toMillis(),
+                    expected == null ? "-" : expected.toMillis() + "ms");
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package utilities.datahandler;
+
+import utilities.datahandler.annotations.Column;
+import utilities.properties.ConfigKey;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/*
+ *  immutable column to field mapping for one class and one header row, optionally limited to a set of fields.
+ *  plans are cached per (class, header signature, fields) so loading the same sheet shape again skips header
+ *  resolution. classes with a generated RowReader are read through it, other classes through field accessors
+ */
+final class BindingPlan<T> {
+    static final ConfigKey<Integer> CACHE_SIZE = ConfigKey.ofInt("spreadsheet.plan.cache.size", 64);
+
+    private static final LinkedHashMap<Key, BindingPlan<?>> CACHE = new LinkedHashMap<Key, BindingPlan<?>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, BindingPlan<?>> eldest) {
+            return size() > CACHE_SIZE.get();
+        }
+    };
+
+    private final Constructor<T> constructor;
+
+    private final ColumnBinding[] bindings;
+
+    private final RowReader<T> reader;
+
+    private final int[] positions;
+
+    private BindingPlan(final Class<T> clazz, final String[] headers, final Set<String> columns) {
+        try {
+            constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (final NoSuchMethodException ex) {
+            throw new IllegalArgumentException(clazz.getName() + " needs a no-argument constructor", ex);
+        }
+
+        final List<ColumnBinding> resolved = new ArrayList<>();
+        final Set<String> unknown = columns == null ? Collections.<String>emptySet() : new HashSet<>(columns);
+
+        reader = GeneratedMappers.readerFor(clazz);
+
+        if (reader != null) {
+            final String[] fields = reader.fieldNames();
+            final String[] names = reader.columnNames();
+            final int[] indexes = reader.columnIndexes();
+            positions = new int[fields.length];
+
+            for (int i = 0; i < fields.length; i++) {
+                positions[i] = -1;
+
+                if (columns != null && !unknown.remove(fields[i].toLowerCase()))
+                    continue;
+
+                positions[i] = indexes[i] >= 0 ? indexes[i] : indexOf(headers, names[i].toLowerCase());
+
+                if (positions[i] == -1)
+                    System.out.println("\"" + names[i] + "\" not found in the spreadsheet");
+            }
+        } else {
+            positions = null;
+
+            for (final Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()))
+                    continue;
+
+                if (columns != null && !unknown.remove(field.getName().toLowerCase()))
+                    continue;
+
+                final Column column = field.getAnnotation(Column.class);
+                final String name = column == null || column.name().isEmpty() ? field.getName() : column.name();
+                final int index = column != null && column.index() >= 0 ? column.index() : indexOf(headers, name.toLowerCase());
+
+                if (index == -1) {
+                    System.out.println("\"" + name + "\" not found in the spreadsheet");
+                    continue;
+                }
+
+                final ColumnBinding binding = ColumnBinding.forField(field, index);
+
+                if (binding != null)
+                    resolved.add(binding);
+            }
+        }
+
+        if (!unknown.isEmpty())
+            throw new IllegalArgumentException(unknown + " are not fields of " + clazz.getName());
+
+        bindings = resolved.toArray(new ColumnBinding[0]);
+    }
+
+    static <T> BindingPlan<T> of(final Class<T> clazz, final String[] headers) {
+        return of(clazz, headers, null);
+    }
+
+    /*
+     *  a plan that only fills the given fields (lower case names), null fills every field
+     */
+    @SuppressWarnings("unchecked")
+    static <T> BindingPlan<T> of(final Class<T> clazz, final String[] headers, final Set<String> columns) {
+        final Key key = new Key(clazz, headers, columns);
+
+        synchronized (CACHE) {
+            BindingPlan<T> plan = (BindingPlan<T>) CACHE.get(key);
+
+            if (plan == null) {
+                plan = new BindingPlan<>(clazz, key.headers, columns);
+                CACHE.put(key, plan);
+            }
+
+            return plan;
+        }
+    }
+
+    /*
+     *  reads the header names of the given row, non text header cells are returned as null
+     */
+    static String[] headersOf(final SpreadsheetRow row) {
+        final String[] headers = new String[row.getColumnCount()];
+
+        for (int i = 0; i < headers.length; i++) {
+            if (!row.hasCell(i))
+                continue;
+
+            try {
+                headers[i] = row.getString(i);
+            } catch (final IllegalStateException ex) {
+                headers[i] = null;
+            }
+        }
+
+        return headers;
+    }
+
+    private static int indexOf(final String[] headers, final String fieldName) {
+        for (int index = 0; index < headers.length; index++) {
+            if (fieldName.equals(headers[index]))
+                return index;
+        }
+
+        return -1;
+    }
+
+    T map(final SpreadsheetRow row) {
+        if (reader != null)
+            return reader.read(row, positions);
+
+        final T obj = newInstance();
+
+        for (final ColumnBinding binding : bindings)
+            binding.bind(obj, row);
+
+        return obj;
+    }
+
+    T newInstance() {
+        try {
+            return constructor.newInstance();
+        } catch (final ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to create " + constructor.getDeclaringClass().getName(), ex);
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> clazz;
+
+        private final String[] headers;
+
+        private final Set<String> columns;
+
+        private final int hash;
+
+        Key(final Class<?> clazz, final String[] headers, final Set<String> columns) {
+            this.clazz = clazz;
+            this.headers = new String[headers.length];
+            this.columns = columns;
+
+            for (int i = 0; i < headers.length; i++)
+                this.headers[i] = headers[i] == null ? null : headers[i].toLowerCase();
+
+            this.hash = 31 * (31 * clazz.hashCode() + Arrays.hashCode(this.headers)) + Objects.hashCode(columns);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key))
+                return false;
+
+            final Key other = (Key) obj;
+            return clazz == other.clazz && Arrays.equals(headers, other.headers) && Objects.equals(columns, other.columns);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
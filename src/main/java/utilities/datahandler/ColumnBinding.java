@@ -0,0 +1,155 @@
+package utilities.datahandler;
+
+import customexception.FieldAccessException;
+
+import java.lang.reflect.Field;
+import java.util.Date;
+
+/*
+ *  binds one spreadsheet column to one object field, the field type is resolved once when the binding is created
+ */
+abstract class ColumnBinding {
+    final FieldAccessor accessor;
+
+    final int column;
+
+    private ColumnBinding(final FieldAccessor accessor, final int column) {
+        this.accessor = accessor;
+        this.column = column;
+    }
+
+    static ColumnBinding forField(final Field field, final int column) {
+        final Class<?> clazz = field.getType();
+        final FieldAccessor accessor = FieldAccessorFactory.getDefault().forField(field);
+
+        if (clazz == String.class)
+            return new StringBinding(accessor, column);
+
+        if (clazz == Date.class)
+            return new DateBinding(accessor, column);
+
+        if (clazz == int.class)
+            return new IntBinding(accessor, column);
+
+        if (clazz == long.class)
+            return new LongBinding(accessor, column);
+
+        if (clazz == float.class)
+            return new FloatBinding(accessor, column);
+
+        if (clazz == double.class)
+            return new DoubleBinding(accessor, column);
+
+        if (clazz == boolean.class)
+            return new BooleanBinding(accessor, column);
+
+        return null;
+    }
+
+    /*
+     *  copies the cell value into the field, a cell that cannot be read as the field type
+     *  clears object fields and leaves primitive fields at their default value
+     */
+    final void bind(final Object obj, final SpreadsheetRow row) {
+        try {
+            set(obj, row);
+        } catch (final FieldAccessException ex) {
+            ex.printStackTrace();
+        } catch (final RuntimeException ex) {
+            clear(obj);
+        }
+    }
+
+    abstract void set(Object obj, SpreadsheetRow row);
+
+    void clear(final Object obj) {
+        accessor.set(obj, null);
+    }
+
+    private abstract static class PrimitiveBinding extends ColumnBinding {
+        PrimitiveBinding(final FieldAccessor accessor, final int column) {
+            super(accessor, column);
+        }
+
+        @Override
+        void clear(final Object obj) {
+        }
+    }
+
+    private static final class StringBinding extends ColumnBinding {
+        StringBinding(final FieldAccessor accessor, final int column) {
+            super(accessor, column);
+        }
+
+        @Override
+        void set(final Object obj, final SpreadsheetRow row) {
+            accessor.set(obj, row.getString(column));
+        }
+    }
+
+    private static final class DateBinding extends ColumnBinding {
+        DateBinding(final FieldAccessor accessor, final int column) {
+            super(accessor, column);
+        }
+
+        @Override
+        void set(final Object obj, final SpreadsheetRow row) {
+            accessor.set(obj, row.getDate(column));
+        }
+    }
+
+    private static final class IntBinding extends PrimitiveBinding {
+        IntBinding(final FieldAccessor accessor, final int column) {
+            super(accessor, column);
+        }
+
+        @Override
+        void set(final Object obj, final SpreadsheetRow row) {
+            accessor.setInt(obj, (int) row.getNumeric(column));
+        }
+    }
+
+    private static final class LongBinding extends PrimitiveBinding {
+        LongBinding(final FieldAccessor accessor, final int column) {
+            super(accessor, column);
+        }
+
+        @Override
+        void set(final Object obj, final SpreadsheetRow row) {
+            accessor.setLong(obj, (long) row.getNumeric(column));
+        }
+    }
+
+    private static final class FloatBinding extends PrimitiveBinding {
+        FloatBinding(final FieldAccessor accessor, final int column) {
+            super(accessor, column);
+        }
+
+        @Override
+        void set(final Object obj, final SpreadsheetRow row) {
+            accessor.setFloat(obj, (float) row.getNumeric(column));
+        }
+    }
+
+    private static final class DoubleBinding extends PrimitiveBinding {
+        DoubleBinding(final FieldAccessor accessor, final int column) {
+            super(accessor, column);
+        }
+
+        @Override
+        void set(final Object obj, final SpreadsheetRow row) {
+            accessor.setDouble(obj, row.getNumeric(column));
+        }
+    }
+
+    private static final class BooleanBinding extends PrimitiveBinding {
+        BooleanBinding(final FieldAccessor accessor, final int column) {
+            super(accessor, column);
+        }
+
+        @Override
+        void set(final Object obj, final SpreadsheetRow row) {
+            accessor.setBoolean(obj, row.getBoolean(column));
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package utilities.datahandler;
+
+import customexception.InvalidExcelFileException;
+import org.apache.poi.ss.usermodel.DateUtil;
+import utilities.properties.ConfigKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+
+/*
+ *  a .csv or .tsv file read from a memory mapped window. rows only record where their fields start and end,
+ *  numbers and dates are parsed straight from the mapped bytes, only string fields are decoded into Strings.
+ *  fields may be quoted with ", a doubled "" inside quotes is a literal quote. empty fields count as missing
+ *  cells and empty lines are skipped. the file is read as utf-8, a byte order mark is ignored
+ */
+final class DelimitedSource implements TabularSource {
+    static final String CSV = "csv";
+
+    static final String TSV = "tsv";
+
+    /*
+     *  files larger than the window are mapped piece by piece, a single row has to fit into it
+     */
+    static final ConfigKey<Integer> WINDOW_BYTES = ConfigKey.ofInt("spreadsheet.delimited.window.bytes", 1 << 30);
+
+    private static final int WINDOW = WINDOW_BYTES.get();
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final long MAX_EXACT = 1L << 53;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private final byte separator;
+
+    private final Row row = new Row();
+
+    private final Calendar calendar = Calendar.getInstance();
+
+    private MappedByteBuffer window;
+
+    private ByteBuffer reader;
+
+    private long windowStart;
+
+    private int position;
+
+    DelimitedSource(final String filePath, final int sheet, final byte separator) throws IOException {
+        if (sheet != 0)
+            throw new InvalidExcelFileException("Worksheet " + sheet + " not found.");
+
+        this.separator = separator;
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+
+        try {
+            this.size = channel.size();
+            this.calendar.setLenient(false);
+            map(0);
+
+            if (size >= 3 && window.get(0) == (byte) 0xEF && window.get(1) == (byte) 0xBB && window.get(2) == (byte) 0xBF)
+                position = 3;
+        } catch (final IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private void map(final long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, WINDOW));
+        reader = window.duplicate();
+        position = 0;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        while (windowStart + position < size) {
+            int end = scan(position);
+
+            if (end < 0) {
+                final long rowStart = windowStart + position;
+                map(rowStart);
+                end = scan(0);
+
+                if (end < 0)
+                    throw new IllegalStateException("Row at byte " + rowStart + " does not fit into the "
+                            + WINDOW + " byte window");
+            }
+
+            position = end;
+
+            if (!row.isBlank())
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public SpreadsheetRow row() {
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /*
+     *  records the fields of the row starting at the given offset, returns the offset of the next row or -1 when
+     *  the row runs past the end of the window before the end of the file
+     */
+    private int scan(int offset) {
+        final int limit = window.limit();
+        final boolean last = windowStart + limit >= size;
+
+        row.clear();
+
+        while (true) {
+            final int start;
+            int end;
+            boolean escaped = false;
+
+            if (offset < limit && window.get(offset) == '"') {
+                start = ++offset;
+
+                while (true) {
+                    if (offset >= limit) {
+                        if (!last)
+                            return -1;
+
+                        end = limit;
+                        break;
+                    }
+
+                    if (window.get(offset) == '"') {
+                        if (offset + 1 < limit && window.get(offset + 1) == '"') {
+                            escaped = true;
+                            offset += 2;
+                            continue;
+                        }
+
+                        if (offset + 1 >= limit && !last)
+                            return -1;
+
+                        end = offset++;
+                        break;
+                    }
+
+                    offset++;
+                }
+
+                // anything between the closing quote and the next separator is dropped
+                while (offset < limit && window.get(offset) != separator && window.get(offset) != '\n')
+                    offset++;
+            } else {
+                start = offset;
+
+                while (offset < limit && window.get(offset) != separator && window.get(offset) != '\n')
+                    offset++;
+
+                end = offset;
+
+                if (end > start && window.get(end - 1) == '\r')
+                    end--;
+            }
+
+            if (offset >= limit && !last)
+                return -1;
+
+            row.add(start, end, escaped);
+
+            if (offset >= limit)
+                return limit;
+
+            if (window.get(offset++) == '\n')
+                return offset;
+        }
+    }
+
+    private final class Row implements SpreadsheetRow {
+        private int[] starts = new int[16];
+
+        private int[] ends = new int[16];
+
+        private boolean[] escaped = new boolean[16];
+
+        private int count;
+
+        private byte[] bytes = new byte[64];
+
+        void clear() {
+            count = 0;
+        }
+
+        void add(final int start, final int end, final boolean escape) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+                escaped = Arrays.copyOf(escaped, count * 2);
+            }
+
+            starts[count] = start;
+            ends[count] = end;
+            escaped[count] = escape;
+            count++;
+        }
+
+        boolean isBlank() {
+            return count == 1 && starts[0] == ends[0];
+        }
+
+        @Override
+        public int getColumnCount() {
+            return count;
+        }
+
+        @Override
+        public boolean hasCell(final int column) {
+            return column >= 0 && column < count && starts[column] < ends[column];
+        }
+
+        @Override
+        public String getString(final int column) {
+            check(column);
+
+            final int length = ends[column] - starts[column];
+
+            if (bytes.length < length)
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+
+            reader.position(starts[column]);
+            reader.get(bytes, 0, length);
+
+            if (!escaped[column])
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+
+            int unescaped = 0;
+
+            for (int i = 0; i < length; i++) {
+                bytes[unescaped++] = bytes[i];
+
+                if (bytes[i] == '"')
+                    i++;
+            }
+
+            return new String(bytes, 0, unescaped, StandardCharsets.UTF_8);
+        }
+
+        /*
+         *  plain decimals with up to 18 digits are parsed from the bytes, the division by an exact power of ten
+         *  rounds like Double.parseDouble does. everything else (exponents, long fractions) falls back to it
+         */
+        @Override
+        public double getNumeric(final int column) {
+            check(column);
+
+            int i = starts[column];
+            final int end = ends[column];
+            final boolean negative = window.get(i) == '-';
+
+            if (negative || window.get(i) == '+')
+                i++;
+
+            long mantissa = 0;
+            int digits = 0;
+            int fraction = -1;
+
+            for (; i < end; i++) {
+                final byte b = window.get(i);
+
+                if (b >= '0' && b <= '9') {
+                    if (++digits > 18)
+                        return parse(column);
+
+                    mantissa = mantissa * 10 + (b - '0');
+
+                    if (fraction >= 0)
+                        fraction++;
+                } else if (b == '.' && fraction < 0) {
+                    fraction = 0;
+                } else {
+                    return parse(column);
+                }
+            }
+
+            if (digits == 0)
+                return parse(column);
+
+            double value = mantissa;
+
+            if (fraction > 0) {
+                if (mantissa > MAX_EXACT || fraction >= POWERS_OF_TEN.length)
+                    return parse(column);
+
+                value = mantissa / POWERS_OF_TEN[fraction];
+            }
+
+            return negative ? -value : value;
+        }
+
+        @Override
+        public boolean getBoolean(final int column) {
+            check(column);
+
+            if (matches(column, "true"))
+                return true;
+
+            if (matches(column, "false"))
+                return false;
+
+            throw new IllegalStateException("Cannot get a BOOLEAN value from \"" + getString(column) + "\"");
+        }
+
+        /*
+         *  yyyy-MM-dd with an optional THH:mm[:ss[.SSS]] or " HH:mm[:ss[.SSS]]" time, followed by an optional Z or
+         *  +HH[:mm] / -HH[:mm] offset. times without an offset are in the default time zone, other values are read
+         *  as excel date numbers. out of range fields, like 2024-02-30 or 25:00, are not rolled over
+         */
+        @Override
+        public Date getDate(final int column) {
+            check(column);
+
+            final int start = starts[column];
+            final int length = ends[column] - start;
+
+            if (length < 10 || window.get(start + 4) != '-' || window.get(start + 7) != '-')
+                return DateUtil.getJavaDate(getNumeric(column));
+
+            calendar.clear();
+            calendar.set(digits(start, 4), digits(start + 5, 2) - 1, digits(start + 8, 2));
+
+            int read = 10;
+
+            if (length >= 16) {
+                final byte divider = window.get(start + 10);
+
+                if ((divider != 'T' && divider != ' ') || window.get(start + 13) != ':')
+                    throw invalidDate(column);
+
+                calendar.set(Calendar.HOUR_OF_DAY, digits(start + 11, 2));
+                calendar.set(Calendar.MINUTE, digits(start + 14, 2));
+                read = 16;
+
+                if (length >= 19 && window.get(start + 16) == ':') {
+                    calendar.set(Calendar.SECOND, digits(start + 17, 2));
+                    read = 19;
+                }
+
+                if (read == 19 && length >= 23 && window.get(start + 19) == '.') {
+                    calendar.set(Calendar.MILLISECOND, digits(start + 20, 3));
+                    read = 23;
+                }
+
+                if (read < length)
+                    readOffset(column, start + read, length - read);
+            } else if (length != 10) {
+                throw invalidDate(column);
+            }
+
+            try {
+                return calendar.getTime();
+            } catch (final IllegalArgumentException ex) {
+                throw invalidDate(column);
+            }
+        }
+
+        private void readOffset(final int column, final int offset, final int length) {
+            final byte sign = window.get(offset);
+
+            if (sign == 'Z' && length == 1) {
+                calendar.set(Calendar.ZONE_OFFSET, 0);
+                calendar.set(Calendar.DST_OFFSET, 0);
+                return;
+            }
+
+            if ((sign != '+' && sign != '-') || (length != 3 && length != 5 && length != 6)
+                    || (length == 6 && window.get(offset + 3) != ':'))
+                throw invalidDate(column);
+
+            final int hours = digits(offset + 1, 2);
+            final int minutes = length == 3 ? 0 : digits(offset + length - 2, 2);
+
+            if (hours > 18 || minutes > 59)
+                throw invalidDate(column);
+
+            final int millis = (hours * 60 + minutes) * 60_000;
+            calendar.set(Calendar.ZONE_OFFSET, sign == '-' ? -millis : millis);
+            calendar.set(Calendar.DST_OFFSET, 0);
+        }
+
+        private int digits(final int offset, final int count) {
+            int value = 0;
+
+            for (int i = offset; i < offset + count; i++) {
+                final byte b = window.get(i);
+
+                if (b < '0' || b > '9')
+                    throw new IllegalStateException("Invalid date digit at byte " + (windowStart + i));
+
+                value = value * 10 + (b - '0');
+            }
+
+            return value;
+        }
+
+        private IllegalStateException invalidDate(final int column) {
+            return new IllegalStateException("Cannot get a DATE value from \"" + getString(column) + "\"");
+        }
+
+        private double parse(final int column) {
+            final String value = getString(column);
+
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (final NumberFormatException ex) {
+                throw new IllegalStateException("Cannot get a NUMERIC value from \"" + value + "\"");
+            }
+        }
+
+        private boolean matches(final int column, final String value) {
+            if (ends[column] - starts[column] != value.length())
+                return false;
+
+            for (int i = 0; i < value.length(); i++) {
+                if (Character.toLowerCase((char) window.get(starts[column] + i)) != value.charAt(i))
+                    return false;
+            }
+
+            return true;
+        }
+
+        private void check(final int column) {
+            if (!hasCell(column))
+                throw new IllegalStateException("No cell found in column " + column);
+        }
+    }
+}
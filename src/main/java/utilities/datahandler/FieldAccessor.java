@@ -0,0 +1,47 @@
+package utilities.datahandler;
+
+import java.lang.reflect.Field;
+
+/*
+ *  typed getter and setter for a single field, primitive fields are read and written without boxing.
+ *  only the methods matching the field type are supported, accessors are created by a FieldAccessorFactory
+ */
+public abstract class FieldAccessor {
+    protected final Field field;
+
+    protected FieldAccessor(final Field field) {
+        this.field = field;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    public abstract Object get(Object target);
+
+    public abstract void set(Object target, Object value);
+
+    public abstract int getInt(Object target);
+
+    public abstract void setInt(Object target, int value);
+
+    public abstract long getLong(Object target);
+
+    public abstract void setLong(Object target, long value);
+
+    public abstract float getFloat(Object target);
+
+    public abstract void setFloat(Object target, float value);
+
+    public abstract double getDouble(Object target);
+
+    public abstract void setDouble(Object target, double value);
+
+    public abstract boolean getBoolean(Object target);
+
+    public abstract void setBoolean(Object target, boolean value);
+}
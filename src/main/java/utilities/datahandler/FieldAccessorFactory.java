@@ -0,0 +1,70 @@
+package utilities.datahandler;
+
+import utilities.properties.ConfigKey;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ *  creates field accessors, the accessors of a class are created once per factory and reused afterwards.
+ *  the factory used by the spreadsheet mapper and writer is selected with "spreadsheet.field.access"
+ *  ("methodhandle" by default, "reflection" to fall back to Field.get/Field.set)
+ */
+public abstract class FieldAccessorFactory {
+    public static final String FIELD_ACCESS_PROPERTY = "spreadsheet.field.access";
+
+    public static final ConfigKey<String> FIELD_ACCESS = ConfigKey.ofString(FIELD_ACCESS_PROPERTY, "methodhandle");
+
+    private static volatile FieldAccessorFactory defaultFactory = fromConfig(FIELD_ACCESS.get());
+
+    private final ClassValue<FieldAccessor[]> accessors = new ClassValue<FieldAccessor[]>() {
+        @Override
+        protected FieldAccessor[] computeValue(final Class<?> type) {
+            final List<FieldAccessor> created = new ArrayList<>();
+
+            for (final Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()))
+                    continue;
+
+                created.add(create(field));
+            }
+
+            return created.toArray(new FieldAccessor[0]);
+        }
+    };
+
+    public static FieldAccessorFactory getDefault() {
+        return defaultFactory;
+    }
+
+    public static void setDefault(final FieldAccessorFactory factory) {
+        defaultFactory = factory;
+    }
+
+    public static FieldAccessorFactory fromConfig(final String value) {
+        if ("reflection".equalsIgnoreCase(value))
+            return new ReflectionAccessorFactory();
+
+        return new MethodHandleAccessorFactory();
+    }
+
+    /*
+     *  returns the accessors of the declared instance fields of the class, in declaration order
+     */
+    public FieldAccessor[] forClass(final Class<?> type) {
+        return accessors.get(type).clone();
+    }
+
+    public FieldAccessor forField(final Field field) {
+        for (final FieldAccessor accessor : accessors.get(field.getDeclaringClass())) {
+            if (accessor.getField().equals(field))
+                return accessor;
+        }
+
+        return create(field);
+    }
+
+    protected abstract FieldAccessor create(Field field);
+}
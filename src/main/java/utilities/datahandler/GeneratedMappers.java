@@ -0,0 +1,64 @@
+package utilities.datahandler;
+
+import utilities.datahandler.annotations.SpreadsheetRecord;
+import utilities.properties.ConfigKey;
+
+/*
+ *  finds the RowReader and RowWriter generated for a @SpreadsheetRecord class, by name next to the class.
+ *  classes without them are mapped through reflection. "spreadsheet.generated.mappers=false" turns the
+ *  generated classes off, e.g. to compare both
+ */
+final class GeneratedMappers {
+    static final ConfigKey<Boolean> ENABLED = ConfigKey.ofBoolean("spreadsheet.generated.mappers", true);
+
+    private static final ClassValue<RowReader<?>> READERS = new ClassValue<RowReader<?>>() {
+        @Override
+        protected RowReader<?> computeValue(final Class<?> type) {
+            return (RowReader<?>) load(type, "_RowReader");
+        }
+    };
+
+    private static final ClassValue<RowWriter<?>> WRITERS = new ClassValue<RowWriter<?>>() {
+        @Override
+        protected RowWriter<?> computeValue(final Class<?> type) {
+            return (RowWriter<?>) load(type, "_RowWriter");
+        }
+    };
+
+    private GeneratedMappers() {}
+
+    @SuppressWarnings("unchecked")
+    static <T> RowReader<T> readerFor(final Class<T> type) {
+        return ENABLED.get() ? (RowReader<T>) READERS.get(type) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> RowWriter<T> writerFor(final Class<T> type) {
+        return ENABLED.get() ? (RowWriter<T>) WRITERS.get(type) : null;
+    }
+
+    /*
+     *  Outer.Inner gets Outer_Inner_RowReader in the package of Outer
+     */
+    static String generatedName(final Class<?> type, final String suffix) {
+        final String name = type.getName();
+        final int dot = name.lastIndexOf('.');
+        return name.substring(0, dot + 1) + name.substring(dot + 1).replace('$', '_') + suffix;
+    }
+
+    private static Object load(final Class<?> type, final String suffix) {
+        if (!type.isAnnotationPresent(SpreadsheetRecord.class))
+            return null;
+
+        try {
+            final Class<?> generated = Class.forName(generatedName(type, suffix), true, type.getClassLoader());
+            return generated.getDeclaredConstructor().newInstance();
+        } catch (final ClassNotFoundException ex) {
+            System.out.println(type.getName() + " has no generated " + suffix.substring(1)
+                    + ", mapping it through reflection");
+            return null;
+        } catch (final ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to create the generated mapper of " + type.getName(), ex);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package utilities.datahandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ *  open addressing table from a key to the rows that have it. the subclasses keep the keys in a primitive array
+ *  next to the table, rows with the same key are chained through next[] in the order they were mapped.
+ *  nothing is changed after construction, so an index can be shared between threads
+ */
+abstract class HashIndex<T> {
+    final List<T> rows;
+
+    /*
+     *  row position + 1 of the first row of a slot, 0 for an empty slot
+     */
+    final int[] heads;
+
+    /*
+     *  row position + 1 of the next row with the same key, 0 at the end of the chain
+     */
+    final int[] next;
+
+    final int mask;
+
+    HashIndex(final List<T> rows) {
+        int capacity = 2;
+
+        while (capacity < rows.size() * 2)
+            capacity <<= 1;
+
+        this.rows = rows;
+        this.heads = new int[capacity];
+        this.next = new int[rows.size()];
+        this.mask = capacity - 1;
+    }
+
+    static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /*
+     *  prepends the row to the chain of the slot, rows are added last to first to keep their order
+     */
+    final void link(final int slot, final int row) {
+        next[row] = heads[slot];
+        heads[slot] = row + 1;
+    }
+
+    final T first(final int slot) {
+        return slot < 0 ? null : rows.get(heads[slot] - 1);
+    }
+
+    final List<T> all(final int slot) {
+        if (slot < 0)
+            return Collections.emptyList();
+
+        final List<T> matches = new ArrayList<>();
+
+        for (int row = heads[slot]; row != 0; row = next[row - 1])
+            matches.add(rows.get(row - 1));
+
+        return Collections.unmodifiableList(matches);
+    }
+}
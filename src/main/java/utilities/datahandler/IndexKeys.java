@@ -0,0 +1,67 @@
+package utilities.datahandler;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/*
+ *  the values of one indexed field, taken from each row as soon as it is mapped. the indexes are built from these
+ *  arrays afterwards and do not read the fields of the mapped objects a second time. int and long fields are kept
+ *  in longs, float and double fields in doubles, String and Date fields in objects
+ */
+final class IndexKeys {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final FieldAccessor accessor;
+
+    final Class<?> type;
+
+    long[] longs;
+
+    double[] doubles;
+
+    Object[] objects;
+
+    int size;
+
+    IndexKeys(final FieldAccessor accessor) {
+        this.accessor = accessor;
+        this.type = accessor.getType();
+
+        if (type == int.class || type == long.class)
+            longs = new long[INITIAL_CAPACITY];
+        else if (type == float.class || type == double.class)
+            doubles = new double[INITIAL_CAPACITY];
+        else if (type == String.class || type == Date.class)
+            objects = new Object[INITIAL_CAPACITY];
+        else
+            throw new IllegalArgumentException("Unable to index " + accessor.getField().getName() + " of type "
+                    + type.getName());
+    }
+
+    void add(final Object row) {
+        if (longs != null) {
+            if (size == longs.length)
+                longs = Arrays.copyOf(longs, size * 2);
+
+            longs[size++] = type == int.class ? accessor.getInt(row) : accessor.getLong(row);
+        } else if (doubles != null) {
+            if (size == doubles.length)
+                doubles = Arrays.copyOf(doubles, size * 2);
+
+            doubles[size++] = type == float.class ? accessor.getFloat(row) : accessor.getDouble(row);
+        } else {
+            if (size == objects.length)
+                objects = Arrays.copyOf(objects, size * 2);
+
+            objects[size++] = accessor.get(row);
+        }
+    }
+
+    /*
+     *  the keys have to line up with the rows, key i belongs to row i
+     */
+    void check(final int rows) {
+        if (size != rows)
+            throw new IllegalStateException("Collected " + size + " keys for " + rows + " rows");
+    }
+}
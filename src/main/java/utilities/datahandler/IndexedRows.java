@@ -0,0 +1,145 @@
+package utilities.datahandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/*
+ *  the rows of a Map.performIndexed() together with the indexes that were asked for. the keys are collected by a
+ *  Builder while the rows are mapped, the rows and indexes are read-only and built before the result is returned,
+ *  parallel tests can query one instance without copying it
+ */
+public final class IndexedRows<T> {
+    private final List<T> rows;
+
+    private final Map<String, HashIndex<T>> hashIndexes;
+
+    private final Map<String, RangeIndex<T>> rangeIndexes;
+
+    private IndexedRows(final List<T> rows, final Map<String, HashIndex<T>> hashIndexes,
+                        final Map<String, RangeIndex<T>> rangeIndexes) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.hashIndexes = hashIndexes;
+        this.rangeIndexes = rangeIndexes;
+    }
+
+    /*
+     *  takes the keys of every mapped row, build() then indexes the rows from the collected keys
+     */
+    static final class Builder<T> implements Consumer<T> {
+        private final Map<String, IndexKeys> hashKeys = new LinkedHashMap<>();
+
+        private final Map<String, IndexKeys> rangeKeys = new LinkedHashMap<>();
+
+        private final IndexKeys[] all;
+
+        Builder(final Class<T> clazz, final Iterable<String> hashFields, final Iterable<String> rangeFields) {
+            for (final String field : hashFields) {
+                final FieldAccessor accessor = accessorOf(clazz, field);
+                final Class<?> type = accessor.getType();
+
+                if (type != int.class && type != long.class && type != String.class)
+                    throw new IllegalArgumentException("Only int, long and String fields can be indexed, "
+                            + field + " is a " + type.getName());
+
+                hashKeys.put(field.toLowerCase(), new IndexKeys(accessor));
+            }
+
+            for (final String field : rangeFields)
+                rangeKeys.put(field.toLowerCase(), new IndexKeys(accessorOf(clazz, field)));
+
+            final List<IndexKeys> keys = new ArrayList<>(hashKeys.values());
+            keys.addAll(rangeKeys.values());
+            this.all = keys.toArray(new IndexKeys[0]);
+        }
+
+        @Override
+        public void accept(final T row) {
+            for (final IndexKeys keys : all)
+                keys.add(row);
+        }
+
+        IndexedRows<T> build(final List<T> rows) {
+            final Map<String, HashIndex<T>> hash = new LinkedHashMap<>();
+            final Map<String, RangeIndex<T>> range = new LinkedHashMap<>();
+
+            for (final Map.Entry<String, IndexKeys> entry : hashKeys.entrySet()) {
+                final Class<?> type = entry.getValue().type;
+
+                if (type == int.class)
+                    hash.put(entry.getKey(), new IntIndex<>(rows, entry.getValue()));
+                else if (type == long.class)
+                    hash.put(entry.getKey(), new LongIndex<>(rows, entry.getValue()));
+                else
+                    hash.put(entry.getKey(), new StringIndex<>(rows, entry.getValue()));
+            }
+
+            for (final Map.Entry<String, IndexKeys> entry : rangeKeys.entrySet())
+                range.put(entry.getKey(), new RangeIndex<>(rows, entry.getValue()));
+
+            return new IndexedRows<>(rows, hash, range);
+        }
+    }
+
+    private static FieldAccessor accessorOf(final Class<?> clazz, final String field) {
+        for (final FieldAccessor accessor : FieldAccessorFactory.getDefault().forClass(clazz)) {
+            if (accessor.getField().getName().equalsIgnoreCase(field))
+                return accessor;
+        }
+
+        throw new IllegalArgumentException(field + " is not a field of " + clazz.getName());
+    }
+
+    public List<T> getRows() {
+        return rows;
+    }
+
+    public IntIndex<T> intIndex(final String field) {
+        return hashIndex(field, IntIndex.class);
+    }
+
+    public LongIndex<T> longIndex(final String field) {
+        return hashIndex(field, LongIndex.class);
+    }
+
+    public StringIndex<T> stringIndex(final String field) {
+        return hashIndex(field, StringIndex.class);
+    }
+
+    public RangeIndex<T> rangeIndex(final String field) {
+        final RangeIndex<T> index = rangeIndexes.get(field.toLowerCase());
+
+        if (index == null)
+            throw new IllegalArgumentException("No range index on " + field);
+
+        return index;
+    }
+
+    /*
+     *  shortcuts for the common lookups
+     */
+    public T get(final String field, final int key) {
+        return intIndex(field).get(key);
+    }
+
+    public T get(final String field, final long key) {
+        return longIndex(field).get(key);
+    }
+
+    public T get(final String field, final String key) {
+        return stringIndex(field).get(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <I> I hashIndex(final String field, final Class<?> type) {
+        final HashIndex<T> index = hashIndexes.get(field.toLowerCase());
+
+        if (!type.isInstance(index))
+            throw new IllegalArgumentException("No " + type.getSimpleName() + " on " + field);
+
+        return (I) index;
+    }
+}
@@ -0,0 +1,51 @@
+package utilities.datahandler;
+
+import java.util.List;
+
+/*
+ *  rows by an int field, looked up without boxing the key
+ */
+public final class IntIndex<T> extends HashIndex<T> {
+    private final int[] keys;
+
+    IntIndex(final List<T> rows, final IndexKeys values) {
+        super(rows);
+        values.check(rows.size());
+        keys = new int[heads.length];
+
+        for (int row = rows.size() - 1; row >= 0; row--) {
+            final int key = (int) values.longs[row];
+            int slot = mix(key) & mask;
+
+            while (heads[slot] != 0 && keys[slot] != key)
+                slot = (slot + 1) & mask;
+
+            keys[slot] = key;
+            link(slot, row);
+        }
+    }
+
+    private int slotOf(final int key) {
+        for (int slot = mix(key) & mask; heads[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key)
+                return slot;
+        }
+
+        return -1;
+    }
+
+    public boolean contains(final int key) {
+        return slotOf(key) >= 0;
+    }
+
+    /*
+     *  the first mapped row with the key, or null
+     */
+    public T get(final int key) {
+        return first(slotOf(key));
+    }
+
+    public List<T> getAll(final int key) {
+        return all(slotOf(key));
+    }
+}
@@ -0,0 +1,51 @@
+package utilities.datahandler;
+
+import java.util.List;
+
+/*
+ *  rows by a long field, looked up without boxing the key
+ */
+public final class LongIndex<T> extends HashIndex<T> {
+    private final long[] keys;
+
+    LongIndex(final List<T> rows, final IndexKeys values) {
+        super(rows);
+        values.check(rows.size());
+        keys = new long[heads.length];
+
+        for (int row = rows.size() - 1; row >= 0; row--) {
+            final long key = values.longs[row];
+            int slot = mix(Long.hashCode(key)) & mask;
+
+            while (heads[slot] != 0 && keys[slot] != key)
+                slot = (slot + 1) & mask;
+
+            keys[slot] = key;
+            link(slot, row);
+        }
+    }
+
+    private int slotOf(final long key) {
+        for (int slot = mix(Long.hashCode(key)) & mask; heads[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key)
+                return slot;
+        }
+
+        return -1;
+    }
+
+    public boolean contains(final long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /*
+     *  the first mapped row with the key, or null
+     */
+    public T get(final long key) {
+        return first(slotOf(key));
+    }
+
+    public List<T> getAll(final long key) {
+        return all(slotOf(key));
+    }
+}
@@ -0,0 +1,166 @@
+package utilities.datahandler;
+
+import customexception.FieldAccessException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/*
+ *  accessors backed by method handles adapted to (Object)T getters and (Object, T)void setters,
+ *  where T is the primitive field type, so invokeExact never boxes the value
+ */
+public class MethodHandleAccessorFactory extends FieldAccessorFactory {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ReflectionAccessorFactory FALLBACK = new ReflectionAccessorFactory();
+
+    @Override
+    protected FieldAccessor create(final Field field) {
+        field.setAccessible(true);
+        final Class<?> type = field.getType().isPrimitive() ? field.getType() : Object.class;
+
+        try {
+            final MethodHandle getter = LOOKUP.unreflectGetter(field)
+                    .asType(MethodType.methodType(type, Object.class));
+            final MethodHandle setter = LOOKUP.unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, type));
+
+            return new MethodHandleAccessor(field, getter, setter);
+        } catch (final IllegalAccessException ex) {
+            // e.g. final fields, which only reflection is allowed to write
+            return FALLBACK.create(field);
+        }
+    }
+
+    private static final class MethodHandleAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        MethodHandleAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            super(field);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public Object get(final Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void set(final Object target, final Object value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public int getInt(final Object target) {
+            try {
+                return (int) getter.invokeExact(target);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setInt(final Object target, final int value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public long getLong(final Object target) {
+            try {
+                return (long) getter.invokeExact(target);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setLong(final Object target, final long value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public float getFloat(final Object target) {
+            try {
+                return (float) getter.invokeExact(target);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setFloat(final Object target, final float value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public double getDouble(final Object target) {
+            try {
+                return (double) getter.invokeExact(target);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setDouble(final Object target, final double value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(final Object target) {
+            try {
+                return (boolean) getter.invokeExact(target);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setBoolean(final Object target, final boolean value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (final Throwable ex) {
+                throw failure(ex);
+            }
+        }
+
+        private RuntimeException failure(final Throwable ex) {
+            if (ex instanceof RuntimeException)
+                return (RuntimeException) ex;
+
+            if (ex instanceof Error)
+                throw (Error) ex;
+
+            return new FieldAccessException("Unable to access field " + field.getName(), ex);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package utilities.datahandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/*
+ *  rows sorted by an int, long, float, double, Date or String field for range queries. both bounds are inclusive,
+ *  the returned lists are read-only views of the sorted rows. rows where a Date or String field is null are left
+ *  out, rows with the same key keep their mapped order
+ */
+public final class RangeIndex<T> {
+    private final List<T> sorted;
+
+    private final long[] longKeys;
+
+    private final double[] doubleKeys;
+
+    private final String[] stringKeys;
+
+    /*
+     *  sorts the positions of the rows by their collected keys, a stable sort keeps rows with the same key in order
+     */
+    RangeIndex(final List<T> rows, final IndexKeys values) {
+        values.check(rows.size());
+
+        final List<Integer> present = new ArrayList<>(rows.size());
+
+        for (int row = 0; row < rows.size(); row++) {
+            if (values.objects == null || values.objects[row] != null)
+                present.add(row);
+        }
+
+        if (values.longs != null || values.type == Date.class) {
+            final long[] keys = values.longs != null ? values.longs : new long[rows.size()];
+
+            if (values.longs == null) {
+                for (final int row : present)
+                    keys[row] = ((Date) values.objects[row]).getTime();
+            }
+
+            present.sort(Comparator.comparingLong(row -> keys[row]));
+            longKeys = new long[present.size()];
+
+            for (int i = 0; i < longKeys.length; i++)
+                longKeys[i] = keys[present.get(i)];
+
+            doubleKeys = null;
+            stringKeys = null;
+        } else if (values.doubles != null) {
+            present.sort(Comparator.comparingDouble(row -> values.doubles[row]));
+            doubleKeys = new double[present.size()];
+
+            for (int i = 0; i < doubleKeys.length; i++)
+                doubleKeys[i] = values.doubles[present.get(i)];
+
+            longKeys = null;
+            stringKeys = null;
+        } else {
+            present.sort(Comparator.comparing(row -> (String) values.objects[row]));
+            stringKeys = new String[present.size()];
+
+            for (int i = 0; i < stringKeys.length; i++)
+                stringKeys[i] = (String) values.objects[present.get(i)];
+
+            longKeys = null;
+            doubleKeys = null;
+        }
+
+        final List<T> ordered = new ArrayList<>(present.size());
+
+        for (final int row : present)
+            ordered.add(rows.get(row));
+
+        sorted = Collections.unmodifiableList(ordered);
+    }
+
+    /*
+     *  every indexed row, sorted by the key
+     */
+    public List<T> getRows() {
+        return sorted;
+    }
+
+    public List<T> between(final long from, final long to) {
+        if (longKeys == null)
+            return between((double) from, (double) to);
+
+        int low = 0;
+        int high = longKeys.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (longKeys[middle] < from)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        final int start = low;
+        high = longKeys.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (longKeys[middle] <= to)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        return slice(start, low);
+    }
+
+    public List<T> between(final double from, final double to) {
+        if (doubleKeys == null) {
+            checkNumeric();
+            return between((long) Math.ceil(from), (long) Math.floor(to));
+        }
+
+        int low = 0;
+        int high = doubleKeys.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (doubleKeys[middle] < from)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        final int start = low;
+        high = doubleKeys.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (doubleKeys[middle] <= to)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        return slice(start, low);
+    }
+
+    public List<T> between(final Date from, final Date to) {
+        return between(from.getTime(), to.getTime());
+    }
+
+    public List<T> between(final String from, final String to) {
+        if (stringKeys == null)
+            throw new IllegalStateException("Not a String range index");
+
+        int low = 0;
+        int high = stringKeys.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (stringKeys[middle].compareTo(from) < 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        final int start = low;
+        high = stringKeys.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (stringKeys[middle].compareTo(to) <= 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        return slice(start, low);
+    }
+
+    private void checkNumeric() {
+        if (longKeys == null && doubleKeys == null)
+            throw new IllegalStateException("Not a numeric range index");
+    }
+
+    private List<T> slice(final int from, final int to) {
+        return from >= to ? Collections.<T>emptyList() : sorted.subList(from, to);
+    }
+}
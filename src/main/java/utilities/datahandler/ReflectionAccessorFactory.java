@@ -0,0 +1,133 @@
+package utilities.datahandler;
+
+import customexception.FieldAccessException;
+
+import java.lang.reflect.Field;
+
+public class ReflectionAccessorFactory extends FieldAccessorFactory {
+
+    @Override
+    protected FieldAccessor create(final Field field) {
+        field.setAccessible(true);
+        return new ReflectionAccessor(field);
+    }
+
+    private static final class ReflectionAccessor extends FieldAccessor {
+
+        ReflectionAccessor(final Field field) {
+            super(field);
+        }
+
+        @Override
+        public Object get(final Object target) {
+            try {
+                return field.get(target);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void set(final Object target, final Object value) {
+            try {
+                field.set(target, value);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public int getInt(final Object target) {
+            try {
+                return field.getInt(target);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setInt(final Object target, final int value) {
+            try {
+                field.setInt(target, value);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public long getLong(final Object target) {
+            try {
+                return field.getLong(target);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setLong(final Object target, final long value) {
+            try {
+                field.setLong(target, value);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public float getFloat(final Object target) {
+            try {
+                return field.getFloat(target);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setFloat(final Object target, final float value) {
+            try {
+                field.setFloat(target, value);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public double getDouble(final Object target) {
+            try {
+                return field.getDouble(target);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setDouble(final Object target, final double value) {
+            try {
+                field.setDouble(target, value);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(final Object target) {
+            try {
+                return field.getBoolean(target);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        @Override
+        public void setBoolean(final Object target, final boolean value) {
+            try {
+                field.setBoolean(target, value);
+            } catch (final IllegalAccessException ex) {
+                throw failure(ex);
+            }
+        }
+
+        private FieldAccessException failure(final IllegalAccessException ex) {
+            return new FieldAccessException("Unable to access field " + field.getName(), ex);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package utilities.datahandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+/*
+ *  row conditions of a Map, checked against the raw cells before a row is converted into an object.
+ *  a cell that is missing or cannot be read as the type of the condition does not match
+ */
+final class RowFilter {
+    static final RowFilter NONE = new RowFilter(Collections.<Condition>emptyList());
+
+    private final List<Condition> conditions;
+
+    private RowFilter(final List<Condition> conditions) {
+        this.conditions = conditions;
+    }
+
+    boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    RowFilter and(final String column, final CellTest test) {
+        final List<Condition> combined = new ArrayList<>(conditions);
+        combined.add(new Condition(column.toLowerCase(), test));
+        return new RowFilter(combined);
+    }
+
+    /*
+     *  only reading the cell fails softly, exceptions of the predicates themselves are passed on
+     */
+    static CellTest string(final Predicate<String> test) {
+        return (row, column) -> {
+            final String value;
+
+            try {
+                value = row.getString(column);
+            } catch (final IllegalStateException | NumberFormatException ex) {
+                return false;
+            }
+
+            return test.test(value);
+        };
+    }
+
+    static CellTest number(final DoublePredicate test) {
+        return (row, column) -> {
+            final double value;
+
+            try {
+                value = row.getNumeric(column);
+            } catch (final IllegalStateException | NumberFormatException ex) {
+                return false;
+            }
+
+            return test.test(value);
+        };
+    }
+
+    static CellTest bool(final boolean value) {
+        return (row, column) -> {
+            try {
+                return row.getBoolean(column) == value;
+            } catch (final IllegalStateException | NumberFormatException ex) {
+                return false;
+            }
+        };
+    }
+
+    static CellTest date(final Predicate<Date> test) {
+        return (row, column) -> {
+            final Date value;
+
+            try {
+                value = row.getDate(column);
+            } catch (final IllegalStateException | NumberFormatException ex) {
+                return false;
+            }
+
+            return test.test(value);
+        };
+    }
+
+    /*
+     *  resolves the condition columns against the header row of a sheet
+     */
+    Bound bind(final String[] headers) {
+        final int[] columns = new int[conditions.size()];
+        final CellTest[] tests = new CellTest[conditions.size()];
+
+        for (int i = 0; i < columns.length; i++) {
+            final Condition condition = conditions.get(i);
+            columns[i] = indexOf(headers, condition.column);
+            tests[i] = condition.test;
+
+            if (columns[i] == -1)
+                throw new IllegalArgumentException("Column \"" + condition.column + "\" not found in the spreadsheet");
+        }
+
+        return new Bound(columns, tests);
+    }
+
+    private static int indexOf(final String[] headers, final String column) {
+        for (int index = 0; index < headers.length; index++) {
+            if (headers[index] != null && column.equals(headers[index].toLowerCase()))
+                return index;
+        }
+
+        return -1;
+    }
+
+    interface CellTest {
+        boolean test(SpreadsheetRow row, int column);
+    }
+
+    private static final class Condition {
+        private final String column;
+
+        private final CellTest test;
+
+        private Condition(final String column, final CellTest test) {
+            this.column = column;
+            this.test = test;
+        }
+    }
+
+    static final class Bound {
+        private final int[] columns;
+
+        private final CellTest[] tests;
+
+        private Bound(final int[] columns, final CellTest[] tests) {
+            this.columns = columns;
+            this.tests = tests;
+        }
+
+        boolean matches(final SpreadsheetRow row) {
+            for (int i = 0; i < columns.length; i++) {
+                if (!row.hasCell(columns[i]) || !tests[i].test(row, columns[i]))
+                    return false;
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package utilities.datahandler;
+
+/*
+ *  reads one row class from spreadsheet rows without reflection, implemented by the <Class>_RowReader classes
+ *  the annotation processor generates for @SpreadsheetRecord classes
+ */
+public interface RowReader<T> {
+
+    /*
+     *  the field behind each column
+     */
+    String[] fieldNames();
+
+    /*
+     *  the header of each column the reader fills, in the order read() expects their positions
+     */
+    String[] columnNames();
+
+    /*
+     *  the fixed position of each column, or -1 when it is looked up by name
+     */
+    int[] columnIndexes();
+
+    /*
+     *  creates an object from the row, columns holds the cell position of each column or -1 to skip it
+     */
+    T read(SpreadsheetRow row, int[] columns);
+}
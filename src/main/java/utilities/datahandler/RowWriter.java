@@ -0,0 +1,26 @@
+package utilities.datahandler;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+
+/*
+ *  writes one row class into spreadsheet rows without reflection, implemented by the <Class>_RowWriter classes
+ *  the annotation processor generates for @SpreadsheetRecord classes
+ */
+public interface RowWriter<T> {
+
+    /*
+     *  the header of each cell position, null for positions no field is written to
+     */
+    String[] headers();
+
+    /*
+     *  the excel data format of each cell position, null for the default format
+     */
+    String[] formats();
+
+    /*
+     *  styles holds the style of each cell position created from formats(), or null
+     */
+    void write(T obj, Row row, CellStyle[] styles);
+}
@@ -0,0 +1,192 @@
+package utilities.datahandler;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ *  maps several (file, worksheet, class) jobs at the same time, each job is a regular SpreadsheetObjectMapper.Map
+ */
+public class SpreadsheetBatchMapper {
+
+    private SpreadsheetBatchMapper() {}
+
+    /*
+     *  returns an executor that starts one virtual thread per job, or null when the jdk has no virtual threads
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (final ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    public static class MapAll {
+
+        private final LinkedHashMap<String, SpreadsheetObjectMapper.Map> jobs = new LinkedHashMap<>();
+
+        private Executor executor;
+
+        private boolean virtualThreads;
+
+        public MapAll add(SpreadsheetObjectMapper.Map job) {
+            return add(job.describe(), job);
+        }
+
+        /*
+         *  names are unique, jobs added without a name are named file#sheet#Class
+         */
+        public MapAll add(String name, SpreadsheetObjectMapper.Map job) {
+            if (jobs.containsKey(name))
+                throw new IllegalArgumentException("A job named \"" + name + "\" was already added");
+
+            jobs.put(name, job);
+            return this;
+        }
+
+        public MapAll add(String filePath, int sheet, Class clazz) {
+            return add(new SpreadsheetObjectMapper.Map().from(filePath).worksheet(sheet).to(clazz));
+        }
+
+        /*
+         *  jobs run on the common ForkJoinPool unless another executor is given
+         */
+        public MapAll using(Executor executor) {
+            this.executor = executor;
+            this.virtualThreads = false;
+            return this;
+        }
+
+        public MapAll usingVirtualThreads() {
+            this.virtualThreads = true;
+            return this;
+        }
+
+        /*
+         *  starts every job and returns right away, use the futures of the result to wait for them
+         */
+        public Result performAsync() {
+            final ExecutorService owned = virtualThreads ? newVirtualThreadExecutor() : null;
+
+            if (virtualThreads && owned == null)
+                System.out.println("Virtual threads are not supported by this JVM, using the common pool instead");
+
+            final Executor runOn = owned != null ? owned : executor != null ? executor : ForkJoinPool.commonPool();
+            final Result result = new Result();
+
+            for (final java.util.Map.Entry<String, SpreadsheetObjectMapper.Map> job : jobs.entrySet())
+                result.start(job.getKey(), job.getValue(), runOn);
+
+            if (owned != null)
+                owned.shutdown();
+
+            return result;
+        }
+
+        /*
+         *  runs every job and waits until all of them are done, failed jobs rethrow when their rows are requested
+         */
+        public Result perform() {
+            final Result result = performAsync();
+            result.await();
+            return result;
+        }
+    }
+
+    public static class Result {
+
+        private final LinkedHashMap<String, CompletableFuture<List<?>>> futures = new LinkedHashMap<>();
+
+        private final ConcurrentHashMap<String, Long> timings = new ConcurrentHashMap<>();
+
+        private final long startedAt = System.nanoTime();
+
+        private volatile long finishedAt;
+
+        private void start(final String name, final SpreadsheetObjectMapper.Map job, final Executor executor) {
+            final CompletableFuture<List<?>> future = CompletableFuture.supplyAsync(() -> {
+                final long start = System.nanoTime();
+
+                try {
+                    return job.perform();
+                } catch (final Exception ex) {
+                    throw new CompletionException(ex);
+                } finally {
+                    timings.put(name, System.nanoTime() - start);
+                }
+            }, executor);
+
+            futures.put(name, future);
+        }
+
+        public void await() {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .handle((ignored, ex) -> null)
+                    .join();
+
+            if (finishedAt == 0)
+                finishedAt = System.nanoTime();
+        }
+
+        public List<String> getNames() {
+            return new ArrayList<>(futures.keySet());
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> CompletableFuture<List<T>> getFuture(String name) {
+            final CompletableFuture<List<?>> future = futures.get(name);
+
+            if (future == null)
+                throw new IllegalArgumentException("No job named \"" + name + "\"");
+
+            return (CompletableFuture<List<T>>) (CompletableFuture<?>) future;
+        }
+
+        public <T> List<T> get(String name) throws Exception {
+            try {
+                return this.<T>getFuture(name).get();
+            } catch (final ExecutionException ex) {
+                if (ex.getCause() instanceof Exception)
+                    throw (Exception) ex.getCause();
+
+                throw ex;
+            }
+        }
+
+        /*
+         *  time spent mapping each finished job, in the order the jobs were added
+         */
+        public LinkedHashMap<String, Duration> getTimings() {
+            final LinkedHashMap<String, Duration> ordered = new LinkedHashMap<>();
+
+            for (final String name : futures.keySet()) {
+                final Long nanos = timings.get(name);
+
+                if (nanos != null)
+                    ordered.put(name, Duration.ofNanos(nanos));
+            }
+
+            return ordered;
+        }
+
+        /*
+         *  wall clock time from the start of the batch until await() returned
+         */
+        public Duration getElapsed() {
+            final long end = finishedAt == 0 ? System.nanoTime() : finishedAt;
+            return Duration.ofNanos(end - startedAt);
+        }
+    }
+}
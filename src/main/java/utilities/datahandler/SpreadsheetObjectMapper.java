@@ -2,27 +2,34 @@ package utilities.datahandler;
 
 import customexception.InvalidExcelFileException;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 
-import java.io.FileInputStream;
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStream;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
-
-public class SpreadsheetObjectMapper {
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class SpreadsheetObjectMapper implements Closeable {
     private final static String XLSX = "xlsx";
 
     private final static String XLS = "xls";
 
-    private final Workbook workbook;
+    private final static String CSV = "csv";
+
+    private final static String TSV = "tsv";
 
-    private final int sheet;
+    private final TabularSource source;
 
     private SpreadsheetObjectMapper(final String filePath, final int sheet) throws IOException,
             InvalidExcelFileException {
@@ -30,11 +37,10 @@ public class SpreadsheetObjectMapper {
         if (!isFileExtensionValid(filePath))
             throw new InvalidExcelFileException("Unsupported file type.");
 
-        this.sheet = sheet;
-        workbook = createWorkBook(filePath);
+        source = TabularSource.open(filePath, sheet);
     }
 
-    private boolean isFileExtensionValid(final String filePath) {
+    private static boolean isFileExtensionValid(final String filePath) {
         String fileExtension = FilenameUtils.getExtension(filePath);
 
         if (fileExtension.equalsIgnoreCase(XLSX))
@@ -43,171 +49,227 @@ public class SpreadsheetObjectMapper {
         if (fileExtension.equalsIgnoreCase(XLS))
             return true;
 
+        if (fileExtension.equalsIgnoreCase(CSV))
+            return true;
+
+        if (fileExtension.equalsIgnoreCase(TSV))
+            return true;
+
         return false;
     }
 
-    private <T> ArrayList<T> map(final Class<T> clazz) throws Exception {
+    private static boolean isDelimited(final String filePath) {
+        final String fileExtension = FilenameUtils.getExtension(filePath);
+        return fileExtension.equalsIgnoreCase(CSV) || fileExtension.equalsIgnoreCase(TSV);
+    }
+
+    /*
+     *  every mapped row is also handed to "mapped" when it is not null, e.g. to collect index keys
+     */
+    private <T> ArrayList<T> map(final Class<T> clazz, final Set<String> columns, final RowFilter filter,
+                                 final Consumer<? super T> mapped) throws IOException {
         final ArrayList<T> list = new ArrayList<T>();
 
-        final Sheet sheet = workbook.getSheetAt(this.sheet);
-        final int lastRow = sheet.getLastRowNum();
+        if (!source.next())
+            return list;
 
-        for (int i = 1; i <= lastRow; i++) {
-            final T obj = clazz.newInstance();
-            final Field[] fields = obj.getClass().getDeclaredFields();
+        final String[] headers = BindingPlan.headersOf(source.row());
+        final BindingPlan<T> plan = BindingPlan.of(clazz, headers, columns);
 
-            for (final Field field : fields) {
-                final String fieldName = field.getName();
-                final int index = getHeaderIndex(fieldName, this.workbook, sheet);
+        final RowFilter.Bound conditions = filter.isEmpty() ? null : filter.bind(headers);
 
-                if (index == -1)
-                    continue;
+        while (source.next()) {
+            if (conditions != null && !conditions.matches(source.row()))
+                continue;
 
-                final Cell cell = sheet.getRow(i).getCell(index);
-                final Field classField = obj.getClass().getDeclaredField(fieldName);
-                setObjectFieldValueFromCell(obj, classField, cell);
-            }
+            final T row = plan.map(source.row());
+            list.add(row);
 
-            list.add(obj);
+            if (mapped != null)
+                mapped.accept(row);
         }
 
         return list;
     }
 
-    private void setObjectFieldValueFromCell(final Object obj, final Field field, final Cell cell) {
-        final Class<?> clazz = field.getType();
-        field.setAccessible(true);
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
 
-        if (clazz.equals(String.class))
-            setStringValue(obj, field, cell);
+    public static class Map {
 
-        if (clazz.equals(Date.class))
-            setDateValue(obj, field, cell);
+        private String filePath;
+
+        private int sheet;
 
-        if (clazz.equals(int.class) || clazz.equals(long.class) || clazz.equals(float.class) || clazz.equals(double.class))
-            setNumericValue(clazz, obj, field, cell);
+        private Class clazz;
 
-        if (clazz.equals(boolean.class))
-            setBooleanValue(obj, field, cell);
+        private SpreadsheetSnapshotCache snapshots;
 
-    }
+        private Set<String> columns;
 
-    private void setBooleanValue(final Object obj, final Field field, final Cell cell) {
-        final boolean value = cell.getBooleanCellValue();
-        try {
-            field.set(obj, value);
-        } catch (final Exception ex) {
-            try {
-                field.set(obj, null);
-            } catch (final IllegalAccessException illegalAccessException) {
-                illegalAccessException.printStackTrace();
-            }
+        private RowFilter filter = RowFilter.NONE;
+
+        private final Set<String> hashIndexes = new LinkedHashSet<>();
+
+        private final Set<String> rangeIndexes = new LinkedHashSet<>();
+
+        public Map from(String filePath) {
+            this.filePath = filePath;
+            return this;
         }
-    }
 
-    private void setStringValue(final Object obj, final Field field, final Cell cell) {
-        try {
-            field.set(obj, cell.getStringCellValue());
-        } catch (final Exception ex) {
-            try {
-                field.set(obj, null);
-            } catch (final IllegalAccessException illegalAccessException) {
-                illegalAccessException.printStackTrace();
-            }
+        public Map worksheet(int sheet) {
+            this.sheet = sheet;
+            return this;
         }
-    }
 
-    private void setDateValue(final Object obj, final Field field, final Cell cell) {
-        try {
-            final Date date = cell.getDateCellValue();
-            field.set(obj, date);
-        } catch (final Exception ex) {
-            try {
-                field.set(obj, null);
-            } catch (final IllegalAccessException illegalAccessException) {
-                illegalAccessException.printStackTrace();
-            }
+        public Map to(Class clazz) {
+            this.clazz = clazz;
+            return this;
         }
-    }
 
-    private void setNumericValue(final Class<?> cls, final Object obj, final Field field, final Cell cell) {
-        final double value = cell.getNumericCellValue();
-        try {
-            if (cls == int.class)
-                field.set(obj, (int) value);
+        /*
+         *  keeps a binary snapshot of the mapped rows in SpreadsheetSnapshotCache.DEFAULT_DIRECTORY
+         */
+        public Map snapshots() {
+            this.snapshots = new SpreadsheetSnapshotCache();
+            return this;
+        }
 
-            if (cls == long.class)
-                field.set(obj, (long) value);
+        public Map snapshotsIn(String directory) {
+            this.snapshots = new SpreadsheetSnapshotCache(directory);
+            return this;
+        }
 
-            if (cls == float.class)
-                field.set(obj, (float) value);
+        /*
+         *  only converts the cells of these fields, the other fields keep their default values
+         */
+        public Map columns(String... columns) {
+            final Set<String> names = new LinkedHashSet<>();
 
-            if (cls == double.class)
-                field.set(obj, value);
+            for (final String column : columns)
+                names.add(column.toLowerCase());
 
-        } catch (final Exception ex) {
-            try {
-                field.set(obj, null);
-            } catch (final IllegalAccessException illegalAccessException) {
-                illegalAccessException.printStackTrace();
-            }
+            this.columns = Collections.unmodifiableSet(names);
+            return this;
         }
-    }
 
-    private Workbook createWorkBook(final String file) throws IOException {
-        final InputStream inp = new FileInputStream(file);
-        return WorkbookFactory.create(inp);
-    }
+        /*
+         *  the where conditions are checked against the cells of a row before it is converted, rows that do not
+         *  match every condition are skipped. a missing cell or a cell of another type does not match
+         */
+        public Map where(String column, Predicate<String> test) {
+            this.filter = filter.and(column, RowFilter.string(test));
+            return this;
+        }
 
-    private int getHeaderIndex(String fieldName, final Workbook workbook, final Sheet sheet) throws Exception {
-        final int totalColumns = sheet.getRow(0).getLastCellNum();
-        int index = -1;
-        boolean isColumHeaderExist = false;
+        public Map where(String column, String value) {
+            return where(column, value::equals);
+        }
 
-        for (index = 0; index < totalColumns; index++) {
-            //first row is the column headers
-            final Cell cell = sheet.getRow(0).getCell(index);
-            final String columnHeader = cell.getStringCellValue().toLowerCase();
+        public Map whereNumber(String column, DoublePredicate test) {
+            this.filter = filter.and(column, RowFilter.number(test));
+            return this;
+        }
 
-            isColumHeaderExist = columnHeader.equalsIgnoreCase(fieldName.toLowerCase());
+        public Map whereBoolean(String column, boolean value) {
+            this.filter = filter.and(column, RowFilter.bool(value));
+            return this;
+        }
 
-            if (isColumHeaderExist)
-                break;
+        public Map whereDate(String column, Predicate<Date> test) {
+            this.filter = filter.and(column, RowFilter.date(test));
+            return this;
         }
 
-        if (!isColumHeaderExist) {
-            System.out.println("\"" + fieldName + "\" not found in the spreadsheet");
-            return -1;
+        /*
+         *  hash indexes on int, long or String fields for performIndexed()
+         */
+        public Map indexBy(String... fields) {
+            this.hashIndexes.addAll(Arrays.asList(fields));
+            return this;
         }
 
-        return index;
-    }
+        /*
+         *  sorted indexes for range queries on numeric, Date or String fields for performIndexed()
+         */
+        public Map rangeIndexBy(String... fields) {
+            this.rangeIndexes.addAll(Arrays.asList(fields));
+            return this;
+        }
 
-    public static class Map {
+        /*
+         *  snapshots hold every row with every column, they are not used for projected or filtered maps
+         */
+        private boolean isCached() {
+            return snapshots != null && columns == null && filter.isEmpty();
+        }
 
-        private String filePath;
+        public <T> List<T> perform() throws Exception {
+            return perform(null);
+        }
 
-        private int sheet;
+        @SuppressWarnings("unchecked")
+        private <T> List<T> perform(final Consumer<? super T> mapped) throws Exception {
+            if (isCached()) {
+                final List<T> cached = snapshots.load(filePath, sheet, (Class<T>) clazz);
 
-        private Class clazz;
+                if (cached != null) {
+                    if (mapped != null)
+                        cached.forEach(mapped);
 
-        public Map from(String filePath) {
-            this.filePath = filePath;
-            return this;
+                    return cached;
+                }
+            }
+
+            final List<T> rows;
+
+            try (SpreadsheetObjectMapper mapper = new SpreadsheetObjectMapper(this.filePath, this.sheet)) {
+                rows = mapper.map((Class<T>) clazz, columns, filter, mapped);
+            }
+
+            if (isCached())
+                snapshots.store(filePath, sheet, (Class<T>) clazz, rows);
+
+            return rows;
         }
 
-        public Map worksheet(int sheet) {
-            this.sheet = sheet;
-            return this;
+        /*
+         *  maps the rows like perform() and indexes them on the indexBy and rangeIndexBy fields. the index keys are
+         *  taken from each row while it is mapped
+         */
+        @SuppressWarnings("unchecked")
+        public <T> IndexedRows<T> performIndexed() throws Exception {
+            final IndexedRows.Builder<T> indexes = new IndexedRows.Builder<T>((Class<T>) clazz, hashIndexes, rangeIndexes);
+            return indexes.build(this.<T>perform(indexes));
         }
 
-        public Map to(Class clazz) {
-            this.clazz = clazz;
-            return this;
+        /*
+         *  reads the worksheet row by row instead of loading the whole workbook, only .xlsx, .csv and .tsv files
+         *  are supported. close the returned stream (try-with-resources) when it is not fully consumed
+         */
+        public <T> Stream<T> stream() throws Exception {
+            if (isDelimited(filePath)) {
+                final TabularSourceReader<T> reader = new TabularSourceReader<T>(TabularSource.open(filePath, sheet), clazz,
+                        columns, filter);
+                final Spliterator<T> rows = Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL);
+
+                return StreamSupport.stream(rows, false).onClose(reader::close);
+            }
+
+            if (!XLSX.equalsIgnoreCase(FilenameUtils.getExtension(filePath)))
+                throw new InvalidExcelFileException("Streaming is only supported for .xlsx, .csv and .tsv files.");
+
+            final StreamingSpreadsheetReader<T> reader = new StreamingSpreadsheetReader<T>(filePath, sheet, clazz, columns, filter);
+            final Spliterator<T> rows = Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL);
+
+            return StreamSupport.stream(rows, false).onClose(reader::close);
         }
 
-        public <T> List<T> perform() throws Exception {
-            return new SpreadsheetObjectMapper(this.filePath, this.sheet).map(clazz);
+        String describe() {
+            return filePath + "#" + sheet + (clazz == null ? "" : "#" + clazz.getSimpleName());
         }
     }
 
@@ -219,6 +281,36 @@ public class SpreadsheetObjectMapper {
 
         List<Account> accounts = new Map().from(fullPath).worksheet(0).to(Account.class).perform();
 
+        List<Account> generated = new Map().from(root + "/target/accounts.csv").to(Account.class).perform();
+
+        List<Account> active = new Map().from(fullPath).worksheet(0).to(Account.class)
+                .columns("accountNumber", "username")
+                .where("environment", "staging")
+                .whereNumber("accountNumber", number -> number > 1000)
+                .perform();
+
+        IndexedRows<Account> indexed = new Map().from(fullPath).worksheet(0).to(Account.class)
+                .indexBy("accountNumber", "username")
+                .rangeIndexBy("created")
+                .performIndexed();
+
+        Account account = indexed.intIndex("accountNumber").get(1001);
+        List<Account> recent = indexed.rangeIndex("created").between(yesterday, new Date());
+
+        try (Stream<Account> rows = new Map().from(fullPath).worksheet(0).to(Account.class).stream()) {
+            rows.forEach(account -> System.out.println(account.getAccountNumber()));
+        }
+
+        SpreadsheetBatchMapper.Result results = new SpreadsheetBatchMapper.MapAll()
+                .add("accounts", new Map().from(fullPath).worksheet(0).to(Account.class))
+                .add("archived", new Map().from(fullPath).worksheet(1).to(Account.class))
+                .perform();
+
+        List<Account> archived = results.get("archived");
+
+        List<Account> cached = new Map().from(fullPath).worksheet(0).to(Account.class).snapshots().perform();
+        System.out.println(results.getTimings());
+
         for (Account account : accounts)
         {
             System.out.println(account.getAccountNumber());
@@ -1,22 +1,62 @@
 package utilities.datahandler;
 
+import customexception.FieldAccessException;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.jetbrains.annotations.NotNull;
+import utilities.properties.ConfigKey;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class SpreadsheetObjectWriter {
+    public static final int DEFAULT_ROW_ACCESS_WINDOW = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
+    /*
+     *  rows below the header row that fit into one .xlsx worksheet, writeObjects continues on a new worksheet
+     */
+    public static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    public static final ConfigKey<String> FILE_NAME = ConfigKey.ofString("spreadsheet.output.name", "output.xlsx");
+
+    /*
+     *  the directory save() writes to, the working directory when empty
+     */
+    public static final ConfigKey<String> DIRECTORY = ConfigKey.ofString("spreadsheet.output.dir", "");
+
     private Workbook workbook;
 
     private Sheet worksheet;
 
+    private boolean headersWritten;
+
+    private CellStyle[] columnStyles;
+
+    private final int rowAccessWindow;
+
+    private final boolean compressTempFiles;
+
+    public SpreadsheetObjectWriter() {
+        this(0, false);
+    }
+
+    /*
+     *  a positive row access window writes through an SXSSFWorkbook: only the last rowAccessWindow rows are kept
+     *  in memory, older rows are flushed to a temp file that is deleted once the workbook is saved
+     */
+    public SpreadsheetObjectWriter(final int rowAccessWindow, final boolean compressTempFiles) {
+        this.rowAccessWindow = rowAccessWindow;
+        this.compressTempFiles = compressTempFiles;
+    }
+
     public static void main(String[] args) throws Exception {
     /*  Sample Code/Usage
         Account account1 = new Account();
@@ -47,12 +87,48 @@ public class SpreadsheetObjectWriter {
                 .thisObjects(accounts)
                 .toSpreadsheet()
                 .saveTo("C:\\Users\\joshuan\\Downloads")
+                .perform();
+
+        SpreadsheetObjectWriter writer4 = new Write()
+                .thisStream(accounts.stream())
+                .streaming(500)
+                .compressTempFiles()
+                .toSpreadsheet()
+                .perform();
+
+        SpreadsheetObjectWriter writer5 = new Write()
+                .thisObjects(accounts)
+                .toSpreadsheet()
+                .saveTo("target/export")
+                .fileName("accounts.xlsx")
+                .perform();
+
+        SpreadsheetPartitionedWriter.Result export = new SpreadsheetPartitionedWriter.Export()
+                .thisStream(accounts.stream())
+                .partitionBy(Account::getUsername)
+                .rowsPerSheet(500_000)
+                .sheetsPerFile(2)
+                .saveTo("target/export")
+                .fileName("accounts-{partition}.xlsx")
                 .perform();*/
     }
 
     public void initializeWriter() {
         workbook = createWorkbook();
         worksheet = workbook.createSheet();
+        headersWritten = false;
+    }
+
+    /*
+     *  continues on a new worksheet, the next object written also writes its column headers.
+     *  a null name uses the default sheet name
+     */
+    public void createSheet(final String name) {
+        if (workbook == null)
+            workbook = createWorkbook();
+
+        worksheet = name == null ? workbook.createSheet() : workbook.createSheet(name);
+        headersWritten = false;
     }
 
     public <T> void writeObjects(@NotNull final List<T> objects) {
@@ -65,85 +141,137 @@ public class SpreadsheetObjectWriter {
         int rowCounter = 1;
 
         for (T object : objects) {
+            if (rowCounter > MAX_ROWS_PER_SHEET) {
+                createSheet(null);
+                rowCounter = 1;
+            }
+
             writeObject(object, rowCounter);
             rowCounter++;
         }
 
     }
 
-    public <T> void writeObject(@NotNull final Object object, int rowNumber) {
+    /*
+     *  writes the objects in iteration order, objects are pulled one at a time so the source can be lazy
+     */
+    public <T> void writeObjects(@NotNull final Iterator<T> objects) {
+        if (!objects.hasNext())
+            return;
 
         if (workbook == null || worksheet == null)
             initializeWriter();
 
-        Field[] fields = object.getClass().getDeclaredFields();
-
-        if (worksheet.getRow(0) == null)
-            createColumnHeaders(fields);
-
-        final Row row = worksheet.createRow(rowNumber);
+        int rowCounter = 1;
 
-        try {
-            int cellCounter = 0;
+        while (objects.hasNext()) {
+            if (rowCounter > MAX_ROWS_PER_SHEET) {
+                createSheet(null);
+                rowCounter = 1;
+            }
 
-            for (Field field : fields) {
-                field.setAccessible(true);
-                final Class<?> clazz = field.getType();
+            writeObject(objects.next(), rowCounter);
+            rowCounter++;
+        }
+    }
 
-                Cell cell = row.createCell(cellCounter);
+    public <T> void writeObjects(@NotNull final Stream<T> objects) {
+        writeObjects(objects.iterator());
+    }
 
-                if (clazz.equals(String.class))
-                    cell = setStringCellValue(object, field, cell);
+    public <T> void writeObject(@NotNull final Object object, int rowNumber) {
 
-                if (clazz.equals(Date.class))
-                    cell = setDateCellValue(object, field, cell);
+        if (workbook == null || worksheet == null)
+            initializeWriter();
 
-                if (clazz.equals(int.class) || clazz.equals(long.class) || clazz.equals(float.class) || clazz.equals(double.class))
-                    cell = setNumericCellValue(clazz, object, field, cell);
+        final WritePlan plan = WritePlan.of(object.getClass());
 
-                if (clazz.equals(boolean.class))
-                    cell = setBooleanCellValue(object, field, cell);
+        if (!headersWritten) {
+            createColumnHeaders(plan.headers());
+            columnStyles = plan.styles(workbook);
+        }
 
-                cellCounter++;
-            }
+        final Row row = worksheet.createRow(rowNumber);
 
-        } catch (final IllegalAccessException illegalAccessException) {
-            illegalAccessException.printStackTrace();
+        try {
+            plan.write(object, row, columnStyles);
+        } catch (final FieldAccessException fieldAccessException) {
+            fieldAccessException.printStackTrace();
         }
     }
 
     public void save() {
-        String directory = System.getProperty("user.dir");
-        save(directory);
+        save(outputDirectory());
+    }
+
+    static String outputDirectory() {
+        return DIRECTORY.get().isEmpty() ? System.getProperty("user.dir") : DIRECTORY.get();
     }
 
+    /*
+     *  saves the workbook into the directory, named by "spreadsheet.output.name" (output.xlsx by default)
+     */
     public void save(String filePath) {
+        saveAs(Paths.get(filePath, FILE_NAME.get()).toString());
+    }
+
+    public void saveAs(String file) {
+        try {
+            write(Paths.get(file));
+        } catch (IOException ioEx) {
+            ioEx.printStackTrace();
+        }
+    }
+
+    void write(final Path file) throws IOException {
         if (workbook == null)
             return;
 
-        Path savePath = Paths.get(filePath, "output.xlsx");
+        final Path savePath = file.toAbsolutePath();
 
-        try (FileOutputStream fileOut = new FileOutputStream(savePath.toAbsolutePath().toString())) {
-            workbook.write(fileOut);
-            fileOut.close();
-            workbook.close();
-        } catch (IOException ioEx) {
-            ioEx.printStackTrace();
+        try {
+            if (savePath.getParent() != null)
+                Files.createDirectories(savePath.getParent());
+
+            try (FileOutputStream fileOut = new FileOutputStream(savePath.toString())) {
+                workbook.write(fileOut);
+                fileOut.close();
+                workbook.close();
+            }
+        } finally {
+            dispose();
         }
     }
 
+    /*
+     *  deletes the temp files backing a streaming workbook, safe to call more than once
+     */
+    public void dispose() {
+        if (workbook instanceof SXSSFWorkbook)
+            ((SXSSFWorkbook) workbook).dispose();
+    }
+
     private Workbook createWorkbook() {
-        return new XSSFWorkbook();
+        if (rowAccessWindow <= 0)
+            return new XSSFWorkbook();
+
+        final SXSSFWorkbook streamingWorkbook = new SXSSFWorkbook(rowAccessWindow);
+        streamingWorkbook.setCompressTempFiles(compressTempFiles);
+        return streamingWorkbook;
     }
 
-    private void createColumnHeaders(Field[] fields) {
+    private void createColumnHeaders(String[] headers) {
         CellStyle headerCellStyle = setHeaderCellStyle();
         Row columnHeader = worksheet.createRow(0);
+        headersWritten = true;
+
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i] == null)
+                continue;
 
-        for (int i = 0; i < fields.length; i++) {
             Cell cell = columnHeader.createCell(i);
             cell.setCellStyle(headerCellStyle);
-            cell.setCellValue(fields[i].getName());
+            cell.setCellValue(headers[i]);
         }
     }
 
@@ -159,65 +287,57 @@ public class SpreadsheetObjectWriter {
         return cellStyle;
     }
 
-    private <T> Cell setStringCellValue(final T obj, Field field, Cell cell) throws IllegalAccessException {
-        if (field.get(obj) == null)
-            return cell;
-
-        String value = field.get(obj).toString();
-        cell.setCellValue(value);
-        return cell;
-    }
-
-    private <T> Cell setDateCellValue(final T obj, Field field, Cell cell) throws IllegalAccessException {
-        if (field.get(obj) == null)
-            return cell;
-
-        Date date = (Date) field.get(obj);
-        cell.setCellValue(date);
-        return cell;
-    }
-
-    private <T> Cell setBooleanCellValue(final T obj, Field field, Cell cell) throws IllegalAccessException {
-        boolean booleanValue = (boolean) field.get(obj);
-        cell.setCellValue(booleanValue);
-        return cell;
-    }
-
-    private <T> Cell setNumericCellValue(final Class<?> clazz, final T obj, Field field, Cell cell) throws IllegalAccessException {
-        if (clazz == int.class)
-            cell.setCellValue((int) field.get(obj));
-
-        if (clazz == long.class)
-            cell.setCellValue((long) field.get(obj));
-
-        if (clazz == float.class)
-            cell.setCellValue((float) field.get(obj));
-
-        if (clazz == double.class)
-            cell.setCellValue((double) field.get(obj));
-
-        return cell;
-    }
-
     public static class Write {
 
         private String filePath;
 
         private List<?> objects;
 
+        private Iterator<?> source;
+
         private Object object;
 
+        private int rowAccessWindow;
+
+        private boolean compressTempFiles;
+
         private int rowNumber;
 
         private SpreadsheetObjectWriter writer;
 
         private String path;
 
+        private String fileName;
+
         public <T> Write thisObjects(List<T> objects) {
             this.objects = objects;
             return this;
         }
 
+        public <T> Write thisStream(Stream<T> objects) {
+            this.source = objects.iterator();
+            return this;
+        }
+
+        public <T> Write thisIterator(Iterator<T> objects) {
+            this.source = objects;
+            return this;
+        }
+
+        public Write streaming() {
+            return streaming(DEFAULT_ROW_ACCESS_WINDOW);
+        }
+
+        public Write streaming(int rowAccessWindow) {
+            this.rowAccessWindow = rowAccessWindow;
+            return this;
+        }
+
+        public Write compressTempFiles() {
+            this.compressTempFiles = true;
+            return this;
+        }
+
         public <T> Write thisObject(Object object) {
             this.object = object;
             return this;
@@ -233,9 +353,17 @@ public class SpreadsheetObjectWriter {
             return this;
         }
 
+        /*
+         *  the name of the saved file, "spreadsheet.output.name" when not set
+         */
+        public Write fileName(String fileName) {
+            this.fileName = fileName;
+            return this;
+        }
+
         public Write toSpreadsheet() {
             if (object != null) {
-                writer = new SpreadsheetObjectWriter();
+                writer = new SpreadsheetObjectWriter(rowAccessWindow, compressTempFiles);
 
                 if (rowNumber == 0)
                     rowNumber += 1;
@@ -249,11 +377,20 @@ public class SpreadsheetObjectWriter {
                 if (objects.size() == 0)
                     return this;
 
-                writer = new SpreadsheetObjectWriter();
+                writer = new SpreadsheetObjectWriter(rowAccessWindow, compressTempFiles);
                 writer.writeObjects(objects);
                 return this;
             }
 
+            if (source != null) {
+                if (!source.hasNext())
+                    return this;
+
+                writer = new SpreadsheetObjectWriter(rowAccessWindow, compressTempFiles);
+                writer.writeObjects(source);
+                return this;
+            }
+
             return this;
         }
 
@@ -263,6 +400,11 @@ public class SpreadsheetObjectWriter {
                 return null;
             }
 
+            if (fileName != null) {
+                writer.saveAs(Paths.get(path != null ? path : outputDirectory(), fileName).toString());
+                return writer;
+            }
+
             if (path != null) {
                 writer.save(path);
                 return writer;
@@ -0,0 +1,596 @@
+package utilities.datahandler;
+
+import org.apache.poi.ss.util.WorkbookUtil;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/*
+ *  splits a large export into several .xlsx files by row count or by a key, every file is built and saved by its
+ *  own task so the files are written in parallel. a manifest listing the files, their sheets and row counts is
+ *  written next to them
+ *
+ *  SpreadsheetPartitionedWriter.Result result = new SpreadsheetPartitionedWriter.Export()
+ *          .thisObjects(accounts)
+ *          .partitionBy(Account::getRegion)
+ *          .rowsPerSheet(500_000)
+ *          .saveTo("target/export")
+ *          .fileName("accounts-{partition}.xlsx")
+ *          .perform();
+ */
+public class SpreadsheetPartitionedWriter {
+    public static final String PARTITION = "{partition}";
+
+    public static final String DEFAULT_MANIFEST = "manifest.json";
+
+    private SpreadsheetPartitionedWriter() {}
+
+    /*
+     *  output.xlsx becomes output-{partition}.xlsx
+     */
+    static String partitionedName(final String fileName) {
+        if (fileName.contains(PARTITION))
+            return fileName;
+
+        final int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? fileName + "-" + PARTITION : fileName.substring(0, dot) + "-" + PARTITION + fileName.substring(dot);
+    }
+
+    private static String fileSafe(final Object key) {
+        return String.valueOf(key).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /*
+     *  the manifest only holds maps, lists, strings, numbers and nulls
+     */
+    static void appendJson(final StringBuilder json, final Object value) {
+        if (value instanceof Map) {
+            json.append('{');
+            String separator = "";
+
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                json.append(separator);
+                appendJson(json, String.valueOf(entry.getKey()));
+                json.append(':');
+                appendJson(json, entry.getValue());
+                separator = ",";
+            }
+
+            json.append('}');
+        } else if (value instanceof List) {
+            json.append('[');
+            String separator = "";
+
+            for (final Object element : (List<?>) value) {
+                json.append(separator);
+                appendJson(json, element);
+                separator = ",";
+            }
+
+            json.append(']');
+        } else if (value instanceof Number || value instanceof Boolean || value == null) {
+            json.append(value);
+        } else {
+            json.append('"');
+
+            for (final char c : value.toString().toCharArray()) {
+                if (c == '"' || c == '\\')
+                    json.append('\\').append(c);
+                else if (c < 0x20)
+                    json.append(String.format("\\u%04x", (int) c));
+                else
+                    json.append(c);
+            }
+
+            json.append('"');
+        }
+    }
+
+    public static class Export {
+
+        private List<?> objects;
+
+        private Iterator<?> source;
+
+        private Function<Object, ?> key;
+
+        private int rowsPerSheet = SpreadsheetObjectWriter.MAX_ROWS_PER_SHEET;
+
+        private int sheetsPerFile = 1;
+
+        private int rowAccessWindow = SpreadsheetObjectWriter.DEFAULT_ROW_ACCESS_WINDOW;
+
+        private boolean compressTempFiles;
+
+        private String directory;
+
+        private String fileName;
+
+        private String manifest = DEFAULT_MANIFEST;
+
+        private Executor executor;
+
+        private int threads;
+
+        public <T> Export thisObjects(List<T> objects) {
+            this.objects = objects;
+            return this;
+        }
+
+        public <T> Export thisStream(Stream<T> objects) {
+            this.source = objects.iterator();
+            return this;
+        }
+
+        public <T> Export thisIterator(Iterator<T> objects) {
+            this.source = objects;
+            return this;
+        }
+
+        /*
+         *  one or more files per key, in the order the keys first appear. keyed exports hold every object
+         *  in memory until they are grouped
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Export partitionBy(Function<? super T, ?> key) {
+            this.key = (Function<Object, ?>) key;
+            return this;
+        }
+
+        /*
+         *  rows below the header row of each sheet, at most SpreadsheetObjectWriter.MAX_ROWS_PER_SHEET
+         */
+        public Export rowsPerSheet(int rowsPerSheet) {
+            if (rowsPerSheet < 1 || rowsPerSheet > SpreadsheetObjectWriter.MAX_ROWS_PER_SHEET)
+                throw new IllegalArgumentException("Rows per sheet must be between 1 and "
+                        + SpreadsheetObjectWriter.MAX_ROWS_PER_SHEET);
+
+            this.rowsPerSheet = rowsPerSheet;
+            return this;
+        }
+
+        public Export sheetsPerFile(int sheetsPerFile) {
+            if (sheetsPerFile < 1)
+                throw new IllegalArgumentException("Sheets per file must be at least 1");
+
+            this.sheetsPerFile = sheetsPerFile;
+            return this;
+        }
+
+        /*
+         *  rows kept in memory per sheet while a file is built, 0 builds every file completely in memory
+         */
+        public Export streaming(int rowAccessWindow) {
+            this.rowAccessWindow = rowAccessWindow;
+            return this;
+        }
+
+        public Export compressTempFiles() {
+            this.compressTempFiles = true;
+            return this;
+        }
+
+        /*
+         *  "spreadsheet.output.dir" or the working directory when not set
+         */
+        public Export saveTo(String directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /*
+         *  {partition} is replaced by the file number or the key, "spreadsheet.output.name" with the partition
+         *  added before the extension when not set
+         */
+        public Export fileName(String fileName) {
+            this.fileName = fileName;
+            return this;
+        }
+
+        public Export manifest(String manifest) {
+            this.manifest = manifest;
+            return this;
+        }
+
+        /*
+         *  files are built on the common ForkJoinPool unless another executor or a thread count is given
+         */
+        public Export using(Executor executor) {
+            this.executor = executor;
+            this.threads = 0;
+            return this;
+        }
+
+        public Export threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /*
+         *  writes every file and the manifest, rethrows the first failure once all files are done
+         */
+        public Result perform() throws Exception {
+            final Path target = Paths.get(directory != null ? directory : SpreadsheetObjectWriter.outputDirectory());
+            final String pattern = partitionedName(fileName != null ? fileName : SpreadsheetObjectWriter.FILE_NAME.get());
+            final ExecutorService owned = threads > 0 ? Executors.newFixedThreadPool(threads) : null;
+            final Executor runOn = owned != null ? owned : executor != null ? executor : ForkJoinPool.commonPool();
+            final int parallelism = threads > 0 ? threads
+                    : executor != null ? Runtime.getRuntime().availableProcessors() : ForkJoinPool.getCommonPoolParallelism();
+
+            Files.createDirectories(target);
+
+            final Result result = new Result(target, target.resolve(manifest), pattern, runOn, Math.max(parallelism, 1));
+
+            try {
+                if (key != null)
+                    partitionByKey(result);
+                else if (objects != null)
+                    partitionList(result);
+                else if (source != null)
+                    partitionIterator(result);
+
+                result.await();
+                result.writeManifest();
+                return result;
+            } finally {
+                if (owned != null)
+                    owned.shutdown();
+            }
+        }
+
+        /*
+         *  a list holds at most Integer.MAX_VALUE rows, more sheets per file than that can fill never matter
+         */
+        private int rowsPerFile() {
+            return (int) Math.min((long) rowsPerSheet * sheetsPerFile, Integer.MAX_VALUE);
+        }
+
+        private void partitionList(final Result result) throws InterruptedException {
+            int number = 1;
+
+            for (long start = 0; start < objects.size(); start += rowsPerFile(), number++) {
+                final int end = (int) Math.min(objects.size(), start + rowsPerFile());
+                result.submit(String.valueOf(number), null, sheetsOf(objects.subList((int) start, end)), this);
+            }
+        }
+
+        private void partitionIterator(final Result result) throws InterruptedException {
+            int number = 1;
+            List<Object> buffer = new ArrayList<>();
+
+            while (source.hasNext()) {
+                buffer.add(source.next());
+
+                if (buffer.size() == rowsPerFile()) {
+                    result.submit(String.valueOf(number++), null, sheetsOf(buffer), this);
+                    buffer = new ArrayList<>();
+                }
+            }
+
+            if (!buffer.isEmpty())
+                result.submit(String.valueOf(number), null, sheetsOf(buffer), this);
+        }
+
+        private void partitionByKey(final Result result) throws InterruptedException {
+            final Map<Object, List<Object>> groups = new LinkedHashMap<>();
+            final Iterator<?> all = objects != null ? objects.iterator() : source;
+
+            while (all != null && all.hasNext()) {
+                final Object object = all.next();
+                groups.computeIfAbsent(key.apply(object), ignored -> new ArrayList<>()).add(object);
+            }
+
+            final Set<String> used = new HashSet<>();
+
+            for (final Map.Entry<Object, List<Object>> group : groups.entrySet()) {
+                final List<Object> rows = group.getValue();
+                final String name = fileSafe(group.getKey());
+                final int files = (int) (((long) rows.size() + rowsPerFile() - 1) / rowsPerFile());
+
+                for (int file = 0; file < files; file++) {
+                    final long start = (long) file * rowsPerFile();
+                    final int end = (int) Math.min(rows.size(), start + rowsPerFile());
+                    final String partition = unique(files == 1 ? name : name + "-" + (file + 1), used);
+
+                    result.submit(partition, String.valueOf(group.getKey()), sheetsOf(rows.subList((int) start, end)), this);
+                }
+            }
+        }
+
+        /*
+         *  keys like "a/b" and "a_b" share a file safe name, later files get a _2, _3 .. suffix
+         */
+        private static String unique(final String name, final Set<String> used) {
+            String candidate = name;
+
+            for (int i = 2; !used.add(candidate); i++)
+                candidate = name + "_" + i;
+
+            return candidate;
+        }
+
+        private List<List<?>> sheetsOf(final List<?> rows) {
+            final List<List<?>> sheets = new ArrayList<>();
+
+            for (long start = 0; start < rows.size(); start += rowsPerSheet)
+                sheets.add(rows.subList((int) start, (int) Math.min(rows.size(), start + rowsPerSheet)));
+
+            return sheets;
+        }
+    }
+
+    public static final class ExportedFile {
+        private final Path path;
+
+        private final String partition;
+
+        private final String key;
+
+        private final List<String> sheetNames;
+
+        private final List<Integer> sheetRows;
+
+        private long bytes;
+
+        private long nanos;
+
+        private ExportedFile(final Path path, final String partition, final String key, final List<List<?>> sheets) {
+            this.path = path;
+            this.partition = partition;
+            this.key = key;
+
+            final List<String> names = new ArrayList<>();
+            final List<Integer> rows = new ArrayList<>();
+
+            for (int i = 0; i < sheets.size(); i++) {
+                final String name = key == null ? "Sheet" + (i + 1) : sheets.size() == 1 ? key : key + " " + (i + 1);
+                final String safe = WorkbookUtil.createSafeSheetName(name);
+
+                names.add(uniqueSheetName(names, safe, i + 1));
+                rows.add(sheets.get(i).size());
+            }
+
+            this.sheetNames = Collections.unmodifiableList(names);
+            this.sheetRows = Collections.unmodifiableList(rows);
+        }
+
+        /*
+         *  long keys cut to 31 characters, or a key like "Sheet2", can repeat a name. poi compares sheet names
+         *  ignoring case
+         */
+        private static String uniqueSheetName(final List<String> names, final String name, int number) {
+            String candidate = name;
+
+            while (containsIgnoreCase(names, candidate))
+                candidate = "Sheet" + number++;
+
+            return candidate;
+        }
+
+        private static boolean containsIgnoreCase(final List<String> names, final String name) {
+            for (final String existing : names) {
+                if (existing.equalsIgnoreCase(name))
+                    return true;
+            }
+
+            return false;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getPartition() {
+            return partition;
+        }
+
+        /*
+         *  the partitionBy key of the rows, null for exports split by row count
+         */
+        public String getKey() {
+            return key;
+        }
+
+        public List<String> getSheetNames() {
+            return sheetNames;
+        }
+
+        public long getRowCount() {
+            long rows = 0;
+
+            for (final int sheet : sheetRows)
+                rows += sheet;
+
+            return rows;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /*
+         *  time spent building and saving the file
+         */
+        public Duration getElapsed() {
+            return Duration.ofNanos(nanos);
+        }
+
+        private Map<String, Object> toMap() {
+            final List<Map<String, Object>> sheets = new ArrayList<>();
+
+            for (int i = 0; i < sheetNames.size(); i++) {
+                final Map<String, Object> sheet = new LinkedHashMap<>();
+                sheet.put("name", sheetNames.get(i));
+                sheet.put("rows", sheetRows.get(i));
+                sheets.add(sheet);
+            }
+
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("file", path.getFileName().toString());
+            map.put("partition", partition);
+            map.put("key", key);
+            map.put("rows", getRowCount());
+            map.put("bytes", bytes);
+            map.put("millis", getElapsed().toMillis());
+            map.put("sheets", sheets);
+            return map;
+        }
+    }
+
+    public static class Result {
+
+        private final Path directory;
+
+        private final Path manifest;
+
+        private final String pattern;
+
+        private final Executor executor;
+
+        private final Semaphore inFlight;
+
+        private final List<ExportedFile> files = new ArrayList<>();
+
+        private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        private final long startedAt = System.nanoTime();
+
+        private long finishedAt;
+
+        private Result(final Path directory, final Path manifest, final String pattern, final Executor executor,
+                       final int parallelism) {
+            this.directory = directory;
+            this.manifest = manifest;
+            this.pattern = pattern;
+            this.executor = executor;
+            this.inFlight = new Semaphore(parallelism);
+        }
+
+        /*
+         *  waits while every worker is busy, so an iterator source is not read further ahead than needed
+         */
+        private void submit(final String partition, final String key, final List<List<?>> sheets, final Export export)
+                throws InterruptedException {
+            final ExportedFile file = new ExportedFile(directory.resolve(pattern.replace(PARTITION, partition)),
+                    partition, key, sheets);
+
+            inFlight.acquire();
+
+            final CompletableFuture<Void> future;
+
+            try {
+                future = CompletableFuture.runAsync(() -> {
+                    try {
+                        write(file, sheets, export);
+                    } catch (final IOException ex) {
+                        throw new CompletionException(ex);
+                    } finally {
+                        inFlight.release();
+                    }
+                }, executor);
+            } catch (final RuntimeException ex) {
+                inFlight.release();
+                throw ex;
+            }
+
+            files.add(file);
+            futures.add(future);
+        }
+
+        private static void write(final ExportedFile file, final List<List<?>> sheets, final Export export)
+                throws IOException {
+            final long start = System.nanoTime();
+            final SpreadsheetObjectWriter writer = new SpreadsheetObjectWriter(export.rowAccessWindow,
+                    export.compressTempFiles);
+
+            try {
+                for (int i = 0; i < sheets.size(); i++) {
+                    writer.createSheet(file.sheetNames.get(i));
+                    writer.writeObjects(sheets.get(i));
+                }
+
+                writer.write(file.path);
+            } finally {
+                writer.dispose();
+            }
+
+            file.bytes = Files.size(file.path);
+            file.nanos = System.nanoTime() - start;
+        }
+
+        private void await() throws Exception {
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (final CompletionException ex) {
+                if (ex.getCause() instanceof Exception)
+                    throw (Exception) ex.getCause();
+
+                throw ex;
+            } finally {
+                finishedAt = System.nanoTime();
+            }
+        }
+
+        private void writeManifest() throws IOException {
+            final List<Map<String, Object>> entries = new ArrayList<>();
+
+            for (final ExportedFile file : files)
+                entries.add(file.toMap());
+
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("directory", directory.toAbsolutePath().toString());
+            map.put("rows", getRowCount());
+            map.put("millis", getElapsed().toMillis());
+            map.put("files", entries);
+
+            final StringBuilder json = new StringBuilder();
+            appendJson(json, map);
+            Files.write(manifest, json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        public List<ExportedFile> getFiles() {
+            return Collections.unmodifiableList(files);
+        }
+
+        public Path getManifest() {
+            return manifest;
+        }
+
+        public long getRowCount() {
+            long rows = 0;
+
+            for (final ExportedFile file : files)
+                rows += file.getRowCount();
+
+            return rows;
+        }
+
+        /*
+         *  wall clock time from the start of the export until the last file was saved
+         */
+        public Duration getElapsed() {
+            return Duration.ofNanos(finishedAt - startedAt);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package utilities.datahandler;
+
+import java.util.Date;
+
+/*
+ *  read-only view over the cells of a single spreadsheet row, column indexes are zero based.
+ *  getters behave like the poi Cell getters: asking for the wrong type throws an IllegalStateException
+ */
+public interface SpreadsheetRow {
+
+    int getColumnCount();
+
+    boolean hasCell(int column);
+
+    String getString(int column);
+
+    double getNumeric(int column);
+
+    boolean getBoolean(int column);
+
+    Date getDate(int column);
+}
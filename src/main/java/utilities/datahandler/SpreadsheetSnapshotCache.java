@@ -0,0 +1,361 @@
+package utilities.datahandler;
+
+import org.apache.commons.io.FilenameUtils;
+import utilities.datahandler.annotations.Column;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/*
+ *  stores mapped rows as a binary, column by column snapshot so later runs can skip parsing the spreadsheet.
+ *  snapshot names contain the sha-256 of the source file, the worksheet index and a hash of the class fields,
+ *  their @Column mapping and whether a generated RowReader maps them, so a changed source or row class never
+ *  matches an old snapshot. stale snapshots of the same source path are deleted on store
+ */
+public class SpreadsheetSnapshotCache {
+    public static final String DEFAULT_DIRECTORY = "target/spreadsheet-cache";
+
+    private static final int MAGIC = 0x53534e50;
+
+    private static final int VERSION = 1;
+
+    private static final String EXTENSION = ".snap";
+
+    private static final byte INT = 1;
+
+    private static final byte LONG = 2;
+
+    private static final byte FLOAT = 3;
+
+    private static final byte DOUBLE = 4;
+
+    private static final byte BOOLEAN = 5;
+
+    private static final byte STRING = 6;
+
+    private static final byte DATE = 7;
+
+    private final Path directory;
+
+    /*
+     *  cache directory in the build output of the working directory, so snapshots are neither packaged with the
+     *  resources nor committed, and a clean build drops them
+     */
+    public SpreadsheetSnapshotCache() {
+        this(DEFAULT_DIRECTORY);
+    }
+
+    public SpreadsheetSnapshotCache(final String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /*
+     *  returns the cached rows, or null when there is no snapshot for the current content of the file
+     */
+    public <T> List<T> load(final String filePath, final int sheet, final Class<T> clazz) throws IOException {
+        final Path snapshot = directory.resolve(snapshotName(filePath, sheet, clazz));
+
+        if (!Files.isRegularFile(snapshot))
+            return null;
+
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, clazz);
+        } catch (final RuntimeException ex) {
+            System.out.println("Ignoring unreadable snapshot " + snapshot + ": " + ex);
+            return null;
+        }
+    }
+
+    public <T> void store(final String filePath, final int sheet, final Class<T> clazz, final List<T> rows)
+            throws IOException {
+        Files.createDirectories(directory);
+        final String name = snapshotName(filePath, sheet, clazz);
+        final Path snapshot = directory.resolve(name);
+        final Path temp = Files.createTempFile(directory, name, ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                write(out, clazz, rows);
+            }
+
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        deleteStaleSnapshots(snapshotPrefix(filePath, sheet, clazz), snapshot);
+    }
+
+    private void deleteStaleSnapshots(final String prefix, final Path current) throws IOException {
+        final DirectoryStream.Filter<Path> sameSource = path -> {
+            final String name = path.getFileName().toString();
+            return name.startsWith(prefix) && name.endsWith(EXTENSION);
+        };
+
+        try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(directory, sameSource)) {
+            for (final Path snapshot : snapshots) {
+                if (!snapshot.equals(current))
+                    Files.deleteIfExists(snapshot);
+            }
+        }
+    }
+
+    private String snapshotName(final String filePath, final int sheet, final Class<?> clazz) throws IOException {
+        return snapshotPrefix(filePath, sheet, clazz) + contentHash(Paths.get(filePath)) + "-"
+                + Integer.toHexString(shapeHash(clazz)) + EXTENSION;
+    }
+
+    /*
+     *  sources with the same name in different directories can share a cache directory, the hash of the
+     *  absolute path keeps them from deleting each other's snapshots
+     */
+    private String snapshotPrefix(final String filePath, final int sheet, final Class<?> clazz) {
+        final String source = Paths.get(filePath).toAbsolutePath().normalize().toString();
+        return FilenameUtils.getName(filePath) + "." + Integer.toHexString(source.hashCode()) + "." + sheet + "."
+                + clazz.getName() + ".";
+    }
+
+    private static String contentHash(final Path file) throws IOException {
+        final MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+
+        final StringBuilder hex = new StringBuilder();
+        final byte[] hash = digest.digest();
+
+        // half of the digest keeps file names short while still identifying the content
+        for (int i = 0; i < hash.length / 2; i++)
+            hex.append(String.format("%02x", hash[i]));
+
+        return hex.toString();
+    }
+
+    private static int shapeHash(final Class<?> clazz) {
+        int hash = 31 * VERSION + (GeneratedMappers.readerFor(clazz) != null ? 1 : 0);
+
+        for (final FieldAccessor accessor : columnsOf(clazz)) {
+            final Column column = accessor.getField().getAnnotation(Column.class);
+            final String mapping = column == null ? "" : ":" + column.name() + ":" + column.index();
+
+            hash = 31 * hash + (accessor.getField().getName() + ":" + accessor.getType().getName() + mapping).hashCode();
+        }
+
+        return hash;
+    }
+
+    private static List<FieldAccessor> columnsOf(final Class<?> clazz) {
+        final List<FieldAccessor> columns = new ArrayList<>();
+
+        for (final FieldAccessor accessor : FieldAccessorFactory.getDefault().forClass(clazz)) {
+            if (typeOf(accessor.getType()) != 0)
+                columns.add(accessor);
+        }
+
+        return columns;
+    }
+
+    private static byte typeOf(final Class<?> type) {
+        if (type == int.class)
+            return INT;
+
+        if (type == long.class)
+            return LONG;
+
+        if (type == float.class)
+            return FLOAT;
+
+        if (type == double.class)
+            return DOUBLE;
+
+        if (type == boolean.class)
+            return BOOLEAN;
+
+        if (type == String.class)
+            return STRING;
+
+        if (type == Date.class)
+            return DATE;
+
+        return 0;
+    }
+
+    private static <T> void write(final DataOutputStream out, final Class<T> clazz, final List<T> rows) throws IOException {
+        final List<FieldAccessor> columns = columnsOf(clazz);
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(rows.size());
+        out.writeInt(columns.size());
+
+        for (final FieldAccessor column : columns) {
+            out.writeUTF(column.getField().getName());
+            out.writeByte(typeOf(column.getType()));
+        }
+
+        for (final FieldAccessor column : columns) {
+            switch (typeOf(column.getType())) {
+                case INT:
+                    for (final T row : rows)
+                        out.writeInt(column.getInt(row));
+                    break;
+                case LONG:
+                    for (final T row : rows)
+                        out.writeLong(column.getLong(row));
+                    break;
+                case FLOAT:
+                    for (final T row : rows)
+                        out.writeFloat(column.getFloat(row));
+                    break;
+                case DOUBLE:
+                    for (final T row : rows)
+                        out.writeDouble(column.getDouble(row));
+                    break;
+                case BOOLEAN:
+                    for (final T row : rows)
+                        out.writeBoolean(column.getBoolean(row));
+                    break;
+                case STRING:
+                    for (final T row : rows) {
+                        final String value = (String) column.get(row);
+
+                        if (value == null) {
+                            out.writeInt(-1);
+                            continue;
+                        }
+
+                        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(bytes.length);
+                        out.write(bytes);
+                    }
+                    break;
+                case DATE:
+                    for (final T row : rows) {
+                        final Date value = (Date) column.get(row);
+                        out.writeLong(value == null ? Long.MIN_VALUE : value.getTime());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static <T> List<T> read(final ByteBuffer in, final Class<T> clazz) throws IOException {
+        if (in.getInt() != MAGIC || in.getInt() != VERSION)
+            throw new IllegalStateException("Not a spreadsheet snapshot");
+
+        final int rowCount = in.getInt();
+        final int columnCount = in.getInt();
+        final List<FieldAccessor> columns = columnsOf(clazz);
+
+        if (columnCount != columns.size())
+            throw new IllegalStateException("Snapshot does not match " + clazz.getName());
+
+        for (final FieldAccessor column : columns) {
+            final byte[] name = new byte[in.getShort() & 0xffff];
+            in.get(name);
+
+            if (!column.getField().getName().equals(new String(name, StandardCharsets.UTF_8))
+                    || in.get() != typeOf(column.getType()))
+                throw new IllegalStateException("Snapshot does not match " + clazz.getName());
+        }
+
+        final List<T> rows = newInstances(clazz, rowCount);
+
+        for (final FieldAccessor column : columns) {
+            switch (typeOf(column.getType())) {
+                case INT:
+                    for (final T row : rows)
+                        column.setInt(row, in.getInt());
+                    break;
+                case LONG:
+                    for (final T row : rows)
+                        column.setLong(row, in.getLong());
+                    break;
+                case FLOAT:
+                    for (final T row : rows)
+                        column.setFloat(row, in.getFloat());
+                    break;
+                case DOUBLE:
+                    for (final T row : rows)
+                        column.setDouble(row, in.getDouble());
+                    break;
+                case BOOLEAN:
+                    for (final T row : rows)
+                        column.setBoolean(row, in.get() != 0);
+                    break;
+                case STRING:
+                    for (final T row : rows) {
+                        final int length = in.getInt();
+
+                        if (length < 0) {
+                            column.set(row, null);
+                            continue;
+                        }
+
+                        final byte[] bytes = new byte[length];
+                        in.get(bytes);
+                        column.set(row, new String(bytes, StandardCharsets.UTF_8));
+                    }
+                    break;
+                case DATE:
+                    for (final T row : rows) {
+                        final long time = in.getLong();
+                        column.set(row, time == Long.MIN_VALUE ? null : new Date(time));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return rows;
+    }
+
+    private static <T> List<T> newInstances(final Class<T> clazz, final int count) throws IOException {
+        try {
+            final Constructor<T> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            final List<T> rows = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++)
+                rows.add(constructor.newInstance());
+
+            return rows;
+        } catch (final ReflectiveOperationException ex) {
+            throw new IOException("Unable to create " + clazz.getName(), ex);
+        }
+    }
+}
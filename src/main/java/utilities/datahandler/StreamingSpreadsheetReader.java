@@ -0,0 +1,307 @@
+package utilities.datahandler;
+
+import customexception.InvalidExcelFileException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/*
+ *  reads an .xlsx worksheet row by row straight from the package xml, only the current row is kept in memory.
+ *  row 1 of the worksheet holds the column headers, missing rows are skipped. rows are placed by their r
+ *  attribute, so the rows match the ones a loaded workbook (WorkbookSource) returns
+ */
+public class StreamingSpreadsheetReader<T> implements Iterator<T>, Closeable {
+    private final Class<T> clazz;
+
+    private final Set<String> columns;
+
+    private final RowFilter filter;
+
+    private RowFilter.Bound conditions;
+
+    private final OPCPackage pkg;
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    private final InputStream sheetData;
+
+    private final XMLStreamReader xml;
+
+    private final StreamingRow row = new StreamingRow();
+
+    private BindingPlan<T> plan;
+
+    private boolean rowPending;
+
+    /* zero based index of the row read last */
+    private int rowIndex = -1;
+
+    /* the first row element read was a data row, the header row is missing */
+    private boolean rowBuffered;
+
+    private boolean closed;
+
+    public StreamingSpreadsheetReader(final String filePath, final int sheet, final Class<T> clazz) throws Exception {
+        this(filePath, sheet, clazz, null, RowFilter.NONE);
+    }
+
+    StreamingSpreadsheetReader(final String filePath, final int sheet, final Class<T> clazz, final Set<String> columns,
+                               final RowFilter filter) throws Exception {
+        this.clazz = clazz;
+        this.columns = columns;
+        this.filter = filter;
+        this.pkg = OPCPackage.open(filePath, PackageAccess.READ);
+
+        try {
+            final XSSFReader reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            sheetData = openSheet(reader, sheet);
+            xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetData);
+            readHeaders();
+        } catch (final Exception ex) {
+            pkg.revert();
+            throw ex;
+        }
+    }
+
+    private InputStream openSheet(final XSSFReader reader, final int sheet) throws Exception {
+        final Iterator<InputStream> sheets = reader.getSheetsData();
+
+        for (int i = 0; sheets.hasNext(); i++) {
+            final InputStream data = sheets.next();
+
+            if (i == sheet)
+                return data;
+
+            data.close();
+        }
+
+        throw new InvalidExcelFileException("Worksheet " + sheet + " not found.");
+    }
+
+    private void readHeaders() throws XMLStreamException {
+        final boolean read = readRow();
+        final String[] headers = read && rowIndex == 0 ? BindingPlan.headersOf(row) : new String[0];
+        rowBuffered = read && rowIndex > 0;
+        plan = BindingPlan.of(clazz, headers, columns);
+        conditions = filter.isEmpty() ? null : filter.bind(headers);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (rowPending)
+            return true;
+
+        if (closed)
+            return false;
+
+        try {
+            do {
+                rowPending = rowBuffered || readRow();
+                rowBuffered = false;
+            } while (rowPending && conditions != null && !conditions.matches(row));
+        } catch (final XMLStreamException ex) {
+            throw new IllegalStateException("Unable to read worksheet row", ex);
+        }
+
+        if (!rowPending)
+            close();
+
+        return rowPending;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        rowPending = false;
+        return plan.map(row);
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+
+        try {
+            xml.close();
+            sheetData.close();
+        } catch (final XMLStreamException ex) {
+            ex.printStackTrace();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private boolean readRow() throws XMLStreamException {
+        while (xml.hasNext()) {
+            if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                final String reference = xml.getAttributeValue(null, "r");
+                rowIndex = reference == null ? rowIndex + 1 : Integer.parseInt(reference) - 1;
+                row.clear();
+                readCells();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void readCells() throws XMLStreamException {
+        int column = -1;
+        String type = null;
+        StringBuilder value = null;
+
+        while (xml.hasNext()) {
+            final int event = xml.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final String name = xml.getLocalName();
+
+                if ("c".equals(name)) {
+                    final String reference = xml.getAttributeValue(null, "r");
+                    column = reference == null ? column + 1 : columnOf(reference);
+                    type = xml.getAttributeValue(null, "t");
+                    value = null;
+                } else if ("v".equals(name) || "t".equals(name)) {
+                    if (value == null)
+                        value = new StringBuilder();
+
+                    value.append(xml.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                final String name = xml.getLocalName();
+
+                if ("c".equals(name) && value != null)
+                    row.put(column, type, value.toString());
+
+                if ("row".equals(name))
+                    return;
+            }
+        }
+    }
+
+    private static int columnOf(final String reference) {
+        int end = 0;
+
+        while (end < reference.length() && Character.isLetter(reference.charAt(end)))
+            end++;
+
+        return CellReference.convertColStringToIndex(reference.substring(0, end));
+    }
+
+    private final class StreamingRow implements SpreadsheetRow {
+        private String[] types = new String[16];
+
+        private String[] values = new String[16];
+
+        private int lastColumn = -1;
+
+        void clear() {
+            Arrays.fill(values, 0, lastColumn + 1, null);
+            lastColumn = -1;
+        }
+
+        void put(final int column, final String type, final String value) {
+            if (column >= values.length) {
+                final int size = Math.max(column + 1, values.length * 2);
+                types = Arrays.copyOf(types, size);
+                values = Arrays.copyOf(values, size);
+            }
+
+            types[column] = type;
+            values[column] = value;
+            lastColumn = Math.max(lastColumn, column);
+        }
+
+        @Override
+        public int getColumnCount() {
+            return lastColumn + 1;
+        }
+
+        @Override
+        public boolean hasCell(final int column) {
+            return column >= 0 && column <= lastColumn && values[column] != null;
+        }
+
+        @Override
+        public String getString(final int column) {
+            final String type = typeOf(column);
+
+            if ("s".equals(type))
+                return sharedStrings.getItemAt(Integer.parseInt(values[column])).getString();
+
+            if ("inlineStr".equals(type) || "str".equals(type))
+                return values[column];
+
+            throw new IllegalStateException("Cannot get a STRING value from a " + describe(type) + " cell");
+        }
+
+        @Override
+        public double getNumeric(final int column) {
+            final String type = typeOf(column);
+
+            if (type == null || "n".equals(type))
+                return Double.parseDouble(values[column]);
+
+            throw new IllegalStateException("Cannot get a NUMERIC value from a " + describe(type) + " cell");
+        }
+
+        @Override
+        public boolean getBoolean(final int column) {
+            final String type = typeOf(column);
+
+            if ("b".equals(type))
+                return "1".equals(values[column]) || "true".equalsIgnoreCase(values[column]);
+
+            throw new IllegalStateException("Cannot get a BOOLEAN value from a " + describe(type) + " cell");
+        }
+
+        @Override
+        public Date getDate(final int column) {
+            return DateUtil.getJavaDate(getNumeric(column));
+        }
+
+        private String typeOf(final int column) {
+            if (!hasCell(column))
+                throw new IllegalStateException("No cell found in column " + column);
+
+            return types[column];
+        }
+
+        private String describe(final String type) {
+            if (type == null || "n".equals(type))
+                return "NUMERIC";
+
+            if ("b".equals(type))
+                return "BOOLEAN";
+
+            if ("e".equals(type))
+                return "ERROR";
+
+            return "STRING";
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package utilities.datahandler;
+
+import java.util.List;
+
+/*
+ *  rows by a String field, rows where the field is null are not indexed
+ */
+public final class StringIndex<T> extends HashIndex<T> {
+    private final String[] keys;
+
+    StringIndex(final List<T> rows, final IndexKeys values) {
+        super(rows);
+        values.check(rows.size());
+        keys = new String[heads.length];
+
+        for (int row = rows.size() - 1; row >= 0; row--) {
+            final String key = (String) values.objects[row];
+
+            if (key == null)
+                continue;
+
+            int slot = mix(key.hashCode()) & mask;
+
+            while (heads[slot] != 0 && !keys[slot].equals(key))
+                slot = (slot + 1) & mask;
+
+            keys[slot] = key;
+            link(slot, row);
+        }
+    }
+
+    private int slotOf(final String key) {
+        if (key == null)
+            return -1;
+
+        for (int slot = mix(key.hashCode()) & mask; heads[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(key))
+                return slot;
+        }
+
+        return -1;
+    }
+
+    public boolean contains(final String key) {
+        return slotOf(key) >= 0;
+    }
+
+    /*
+     *  the first mapped row with the key, or null
+     */
+    public T get(final String key) {
+        return first(slotOf(key));
+    }
+
+    public List<T> getAll(final String key) {
+        return all(slotOf(key));
+    }
+}
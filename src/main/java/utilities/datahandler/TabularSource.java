@@ -0,0 +1,40 @@
+package utilities.datahandler;
+
+import customexception.InvalidExcelFileException;
+import org.apache.commons.io.FilenameUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/*
+ *  the rows of one worksheet or text file, read front to back. the first row holds the column headers.
+ *  the returned row may be reused, it is only valid until next() is called again
+ */
+public interface TabularSource extends Closeable {
+
+    /*
+     *  moves to the next row, false at the end of the source
+     */
+    boolean next() throws IOException;
+
+    SpreadsheetRow row();
+
+    /*
+     *  a source for the file, picked by its extension: .xls and .xlsx go through poi, .csv and .tsv are read
+     *  from a memory mapped file
+     */
+    static TabularSource open(final String filePath, final int sheet) throws IOException {
+        final String extension = FilenameUtils.getExtension(filePath);
+
+        if (DelimitedSource.CSV.equalsIgnoreCase(extension))
+            return new DelimitedSource(filePath, sheet, (byte) ',');
+
+        if (DelimitedSource.TSV.equalsIgnoreCase(extension))
+            return new DelimitedSource(filePath, sheet, (byte) '\t');
+
+        if (WorkbookSource.XLSX.equalsIgnoreCase(extension) || WorkbookSource.XLS.equalsIgnoreCase(extension))
+            return new WorkbookSource(filePath, sheet);
+
+        throw new InvalidExcelFileException("Unsupported file type.");
+    }
+}
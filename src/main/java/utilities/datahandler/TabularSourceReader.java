@@ -0,0 +1,83 @@
+package utilities.datahandler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/*
+ *  maps the rows of a TabularSource one by one, the first row of the source is treated as the column headers.
+ *  rows that do not match the filter are skipped before they are converted
+ */
+final class TabularSourceReader<T> implements Iterator<T>, Closeable {
+    private final TabularSource source;
+
+    private final BindingPlan<T> plan;
+
+    private final RowFilter.Bound conditions;
+
+    private boolean rowPending;
+
+    private boolean closed;
+
+    TabularSourceReader(final TabularSource source, final Class<T> clazz, final Set<String> columns,
+                        final RowFilter filter) throws IOException {
+        this.source = source;
+
+        try {
+            final String[] headers = source.next() ? BindingPlan.headersOf(source.row()) : new String[0];
+            plan = BindingPlan.of(clazz, headers, columns);
+            conditions = filter.isEmpty() ? null : filter.bind(headers);
+        } catch (final IOException | RuntimeException ex) {
+            source.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (rowPending)
+            return true;
+
+        if (closed)
+            return false;
+
+        try {
+            do {
+                rowPending = source.next();
+            } while (rowPending && conditions != null && !conditions.matches(source.row()));
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if (!rowPending)
+            close();
+
+        return rowPending;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        rowPending = false;
+        return plan.map(source.row());
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+
+        try {
+            source.close();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package utilities.datahandler;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.util.Date;
+
+final class WorkbookRow implements SpreadsheetRow {
+    private final Row row;
+
+    WorkbookRow(final Row row) {
+        this.row = row;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return row == null ? 0 : Math.max(row.getLastCellNum(), 0);
+    }
+
+    @Override
+    public boolean hasCell(final int column) {
+        return row != null && row.getCell(column) != null;
+    }
+
+    @Override
+    public String getString(final int column) {
+        return cell(column).getStringCellValue();
+    }
+
+    @Override
+    public double getNumeric(final int column) {
+        return cell(column).getNumericCellValue();
+    }
+
+    @Override
+    public boolean getBoolean(final int column) {
+        return cell(column).getBooleanCellValue();
+    }
+
+    @Override
+    public Date getDate(final int column) {
+        return cell(column).getDateCellValue();
+    }
+
+    private Cell cell(final int column) {
+        if (!hasCell(column))
+            throw new IllegalStateException("No cell found in column " + column);
+
+        return row.getCell(column);
+    }
+}
@@ -0,0 +1,65 @@
+package utilities.datahandler;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+import java.io.File;
+import java.io.IOException;
+
+/*
+ *  a worksheet of an .xls or .xlsx workbook, loaded completely through poi
+ */
+final class WorkbookSource implements TabularSource {
+    static final String XLSX = "xlsx";
+
+    static final String XLS = "xls";
+
+    private final Workbook workbook;
+
+    private final Sheet sheet;
+
+    private int index = -1;
+
+    private WorkbookRow row;
+
+    WorkbookSource(final String filePath, final int sheet) throws IOException {
+        this.workbook = WorkbookFactory.create(new File(filePath), null, true);
+
+        try {
+            this.sheet = workbook.getSheetAt(sheet);
+        } catch (final IllegalArgumentException ex) {
+            workbook.close();
+            throw ex;
+        }
+    }
+
+    /*
+     *  the first row is always the header row, even when it is missing. missing rows below it are skipped,
+     *  like StreamingSpreadsheetReader does
+     */
+    @Override
+    public boolean next() {
+        while (index < sheet.getLastRowNum()) {
+            final Row next = sheet.getRow(++index);
+
+            if (next != null || index == 0) {
+                row = new WorkbookRow(next);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public SpreadsheetRow row() {
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.close();
+    }
+}
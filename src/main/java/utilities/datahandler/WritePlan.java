@@ -0,0 +1,194 @@
+package utilities.datahandler;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import utilities.datahandler.annotations.Column;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ *  field to cell mapping used by the writer, one column per declared instance field in declaration order unless
+ *  @Column gives it a position. classes with a generated RowWriter are written through it
+ */
+final class WritePlan {
+    private static final ConcurrentHashMap<Class<?>, WritePlan> PLANS = new ConcurrentHashMap<>();
+
+    private final FieldAccessorFactory factory;
+
+    private final String[] headers;
+
+    private final String[] formats;
+
+    private final CellWriter[] writers;
+
+    private final RowWriter<Object> generated;
+
+    @SuppressWarnings("unchecked")
+    private WritePlan(final Class<?> clazz, final FieldAccessorFactory factory) {
+        this.factory = factory;
+        this.generated = (RowWriter<Object>) GeneratedMappers.writerFor(clazz);
+
+        if (generated != null) {
+            this.headers = generated.headers();
+            this.formats = generated.formats();
+            this.writers = null;
+            return;
+        }
+
+        final FieldAccessor[] accessors = factory.forClass(clazz);
+        final int[] positions = positionsOf(clazz, accessors);
+        final int size = accessors.length == 0 ? 0 : Arrays.stream(positions).max().getAsInt() + 1;
+
+        this.headers = new String[size];
+        this.formats = new String[size];
+        this.writers = new CellWriter[size];
+
+        for (int i = 0; i < accessors.length; i++) {
+            final Column column = accessors[i].getField().getAnnotation(Column.class);
+            final int position = positions[i];
+
+            headers[position] = column == null || column.name().isEmpty() ? accessors[i].getField().getName() : column.name();
+            formats[position] = column == null || column.format().isEmpty() ? null : column.format();
+            writers[position] = writerFor(accessors[i]);
+        }
+    }
+
+    /*
+     *  fields with a @Column index keep it, the others fill the free positions in declaration order
+     */
+    private static int[] positionsOf(final Class<?> clazz, final FieldAccessor[] accessors) {
+        final int[] positions = new int[accessors.length];
+        int last = accessors.length;
+
+        for (int i = 0; i < accessors.length; i++) {
+            final Column column = accessors[i].getField().getAnnotation(Column.class);
+            positions[i] = column == null ? -1 : column.index();
+            last = Math.max(last, positions[i]);
+        }
+
+        final boolean[] taken = new boolean[last + 1];
+
+        for (int i = 0; i < accessors.length; i++) {
+            if (positions[i] >= 0) {
+                if (taken[positions[i]])
+                    throw new IllegalArgumentException("Two fields of " + clazz.getName() + " use column " + positions[i]);
+
+                taken[positions[i]] = true;
+            }
+        }
+
+        int next = 0;
+
+        for (int i = 0; i < accessors.length; i++) {
+            if (positions[i] >= 0)
+                continue;
+
+            while (taken[next])
+                next++;
+
+            positions[i] = next++;
+        }
+
+        return positions;
+    }
+
+    static WritePlan of(final Class<?> clazz) {
+        final FieldAccessorFactory factory = FieldAccessorFactory.getDefault();
+        final WritePlan plan = PLANS.get(clazz);
+
+        if (plan != null && plan.factory == factory)
+            return plan;
+
+        final WritePlan created = new WritePlan(clazz, factory);
+        PLANS.put(clazz, created);
+        return created;
+    }
+
+    String[] headers() {
+        return headers.clone();
+    }
+
+    /*
+     *  the cell styles of the formatted positions in the workbook, null when no column has a format
+     */
+    CellStyle[] styles(final Workbook workbook) {
+        CellStyle[] styles = null;
+
+        for (int i = 0; i < formats.length; i++) {
+            if (formats[i] == null)
+                continue;
+
+            if (styles == null)
+                styles = new CellStyle[formats.length];
+
+            styles[i] = workbook.createCellStyle();
+            styles[i].setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(formats[i]));
+        }
+
+        return styles;
+    }
+
+    void write(final Object obj, final Row row, final CellStyle[] styles) {
+        if (generated != null) {
+            generated.write(obj, row, styles);
+            return;
+        }
+
+        for (int i = 0; i < writers.length; i++) {
+            if (writers[i] == null)
+                continue;
+
+            final Cell cell = row.createCell(i);
+            writers[i].write(obj, cell);
+
+            if (styles != null && styles[i] != null)
+                cell.setCellStyle(styles[i]);
+        }
+    }
+
+    private static CellWriter writerFor(final FieldAccessor accessor) {
+        final Class<?> clazz = accessor.getType();
+
+        if (clazz == String.class)
+            return (obj, cell) -> {
+                final Object value = accessor.get(obj);
+
+                if (value != null)
+                    cell.setCellValue(value.toString());
+            };
+
+        if (clazz == Date.class)
+            return (obj, cell) -> {
+                final Date value = (Date) accessor.get(obj);
+
+                if (value != null)
+                    cell.setCellValue(value);
+            };
+
+        if (clazz == int.class)
+            return (obj, cell) -> cell.setCellValue(accessor.getInt(obj));
+
+        if (clazz == long.class)
+            return (obj, cell) -> cell.setCellValue(accessor.getLong(obj));
+
+        if (clazz == float.class)
+            return (obj, cell) -> cell.setCellValue(accessor.getFloat(obj));
+
+        if (clazz == double.class)
+            return (obj, cell) -> cell.setCellValue(accessor.getDouble(obj));
+
+        if (clazz == boolean.class)
+            return (obj, cell) -> cell.setCellValue(accessor.getBoolean(obj));
+
+        return (obj, cell) -> {
+        };
+    }
+
+    private interface CellWriter {
+        void write(Object obj, Cell cell);
+    }
+}
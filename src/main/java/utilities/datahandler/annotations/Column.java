@@ -0,0 +1,29 @@
+package utilities.datahandler.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Column {
+
+    /*
+     *  the header of the column, the field name when empty. headers are matched ignoring case
+     */
+    String name() default "";
+
+    /*
+     *  zero based column position, read from and written to that column regardless of the header row.
+     *  negative looks the column up by name and writes it in field declaration order
+     */
+    int index() default -1;
+
+    /*
+     *  excel data format of the written cells, e.g. "yyyy-mm-dd" or "0.00"
+     */
+    String format() default "";
+}
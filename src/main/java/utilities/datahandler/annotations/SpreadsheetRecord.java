@@ -0,0 +1,19 @@
+package utilities.datahandler.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ *  marks a class that is read from and written to spreadsheets. with the selenium-boilerplate-processor on the
+ *  annotation processor path, javac generates a <Class>_RowReader and <Class>_RowWriter next to it, which the
+ *  mapper and writer use instead of reflection. every instance field is a column, @Column changes its name,
+ *  position or cell format. final fields are only written, fields of unsupported types are written as empty cells
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SpreadsheetRecord {
+}
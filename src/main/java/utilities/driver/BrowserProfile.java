@@ -0,0 +1,91 @@
+package utilities.driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ *  named chrome presets selected with "browser.profile". every profile comes with an estimate of the memory one
+ *  browser needs, DriverFactory uses it to fit the number of browsers into "browser.memory.budget.mb"
+ */
+public enum BrowserProfile {
+    /*
+     *  a regular chrome window, for watching tests locally
+     */
+    DEFAULT(600, PageLoadStrategy.NORMAL, false),
+
+    HEADLESS(350, PageLoadStrategy.NORMAL, true),
+
+    /*
+     *  headless without images, extensions, gpu or background traffic. tests continue at DOMContentLoaded
+     */
+    LOW_RESOURCE(220, PageLoadStrategy.EAGER, true,
+            "--blink-settings=imagesEnabled=false",
+            "--disable-extensions",
+            "--disable-gpu",
+            "--disable-dev-shm-usage",
+            "--disable-background-networking",
+            "--disable-background-timer-throttling",
+            "--disable-renderer-backgrounding",
+            "--disable-sync",
+            "--no-first-run",
+            "--mute-audio"),
+
+    /*
+     *  like LOW_RESOURCE but get() returns as soon as navigation starts, tests have to wait for their elements
+     */
+    MINIMAL(200, PageLoadStrategy.NONE, true, LOW_RESOURCE.arguments);
+
+    private final int memoryMb;
+
+    private final PageLoadStrategy pageLoadStrategy;
+
+    private final boolean headless;
+
+    private final List<String> arguments;
+
+    BrowserProfile(final int memoryMb, final PageLoadStrategy pageLoadStrategy, final boolean headless,
+                   final String... arguments) {
+        this(memoryMb, pageLoadStrategy, headless, Arrays.asList(arguments));
+    }
+
+    BrowserProfile(final int memoryMb, final PageLoadStrategy pageLoadStrategy, final boolean headless,
+                   final List<String> arguments) {
+        this.memoryMb = memoryMb;
+        this.pageLoadStrategy = pageLoadStrategy;
+        this.headless = headless;
+        this.arguments = Collections.unmodifiableList(new ArrayList<>(arguments));
+    }
+
+    /*
+     *  accepts the enum name in any case, with dashes instead of underscores, e.g. "low-resource"
+     */
+    public static BrowserProfile of(final String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (final IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown browser profile " + name + ", expected one of "
+                    + Arrays.toString(values()));
+        }
+    }
+
+    public int getMemoryMb() {
+        return memoryMb;
+    }
+
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public List<String> getArguments() {
+        return arguments;
+    }
+}
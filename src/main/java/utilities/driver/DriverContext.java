@@ -0,0 +1,33 @@
+package utilities.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/*
+ *  the driver bound to the current thread, every page, page step and selenium action of a test uses this driver
+ */
+public final class DriverContext {
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+
+    private DriverContext() {}
+
+    public static WebDriver get() {
+        final WebDriver webDriver = DRIVER.get();
+
+        if (webDriver == null)
+            throw new IllegalStateException("No WebDriver is bound to thread " + Thread.currentThread().getName());
+
+        return webDriver;
+    }
+
+    public static boolean isBound() {
+        return DRIVER.get() != null;
+    }
+
+    public static void bind(final WebDriver webDriver) {
+        DRIVER.set(webDriver);
+    }
+
+    public static void unbind() {
+        DRIVER.remove();
+    }
+}
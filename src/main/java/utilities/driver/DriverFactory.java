@@ -0,0 +1,174 @@
+package utilities.driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import utilities.network.NetworkControl;
+import utilities.properties.ConfigKey;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/*
+ *  builds chrome sessions for a BrowserProfile. settings are resolved through LayeredConfig (defaults, config file,
+ *  profile file, environment, system properties):
+ *
+ *  browser.profile=low-resource              DEFAULT, HEADLESS, LOW_RESOURCE or MINIMAL
+ *  browser.page.load.strategy=eager          overrides the profile, normal, eager or none
+ *  browser.memory.mb=250                     overrides the memory the profile expects one browser to use
+ *  browser.memory.budget.mb=4096             memory all browsers of this node may use together
+ *  browser.window.size=1366,768
+ *  browser.arguments=--lang=en-US            extra chrome arguments, comma separated
+ *  webdriver.chrome.driver=chromedriver.exe  defaults to chromedriver.exe in the working directory, then the PATH
+ */
+public class DriverFactory implements Supplier<WebDriver> {
+    public static final String PROFILE_PROPERTY = "browser.profile";
+
+    public static final String PAGE_LOAD_STRATEGY_PROPERTY = "browser.page.load.strategy";
+
+    public static final String MEMORY_PROPERTY = "browser.memory.mb";
+
+    public static final String MEMORY_BUDGET_PROPERTY = "browser.memory.budget.mb";
+
+    public static final String WINDOW_SIZE_PROPERTY = "browser.window.size";
+
+    public static final String ARGUMENTS_PROPERTY = "browser.arguments";
+
+    public static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+
+    private static final String DEFAULT_WINDOW_SIZE = "1366,768";
+
+    public static final ConfigKey<String> PROFILE = ConfigKey.ofString(PROFILE_PROPERTY, BrowserProfile.HEADLESS.name());
+
+    public static final ConfigKey<String> PAGE_LOAD_STRATEGY = ConfigKey.ofString(PAGE_LOAD_STRATEGY_PROPERTY, "");
+
+    public static final ConfigKey<Integer> MEMORY = ConfigKey.ofInt(MEMORY_PROPERTY, 0);
+
+    public static final ConfigKey<Integer> MEMORY_BUDGET = ConfigKey.ofInt(MEMORY_BUDGET_PROPERTY, 0);
+
+    public static final ConfigKey<String> WINDOW_SIZE = ConfigKey.ofString(WINDOW_SIZE_PROPERTY, DEFAULT_WINDOW_SIZE);
+
+    public static final ConfigKey<List<String>> ARGUMENTS = ConfigKey.ofList(ARGUMENTS_PROPERTY);
+
+    public static final ConfigKey<String> CHROME_DRIVER = ConfigKey.ofString(CHROME_DRIVER_PROPERTY, "");
+
+    private final BrowserProfile profile;
+
+    private final PageLoadStrategy pageLoadStrategy;
+
+    private final int memoryMb;
+
+    private final int memoryBudgetMb;
+
+    private final String windowSize;
+
+    private final List<String> extraArguments;
+
+    public DriverFactory(final BrowserProfile profile) {
+        this(profile, profile.getPageLoadStrategy(), profile.getMemoryMb(), 0, DEFAULT_WINDOW_SIZE,
+                Collections.<String>emptyList());
+    }
+
+    /*
+     *  a memoryBudgetMb of 0 or less puts no limit on the number of browsers
+     */
+    public DriverFactory(final BrowserProfile profile, final PageLoadStrategy pageLoadStrategy, final int memoryMb,
+                         final int memoryBudgetMb, final String windowSize, final List<String> extraArguments) {
+        this.profile = profile;
+        this.pageLoadStrategy = pageLoadStrategy;
+        this.memoryMb = Math.max(1, memoryMb);
+        this.memoryBudgetMb = memoryBudgetMb;
+        this.windowSize = windowSize;
+        this.extraArguments = Collections.unmodifiableList(new ArrayList<>(extraArguments));
+    }
+
+    public static DriverFactory fromConfig() {
+        final BrowserProfile profile = BrowserProfile.of(PROFILE.get());
+        final String strategy = PAGE_LOAD_STRATEGY.get();
+        final int memoryMb = MEMORY.get();
+
+        final String driverPath = CHROME_DRIVER.get().isEmpty() ? defaultDriverPath() : CHROME_DRIVER.get();
+        if (driverPath != null && System.getProperty(CHROME_DRIVER_PROPERTY) == null)
+            System.setProperty(CHROME_DRIVER_PROPERTY, driverPath);
+
+        return new DriverFactory(profile,
+                strategy.isEmpty() ? profile.getPageLoadStrategy()
+                        : PageLoadStrategy.fromString(strategy.toLowerCase(Locale.ROOT)),
+                memoryMb > 0 ? memoryMb : profile.getMemoryMb(),
+                MEMORY_BUDGET.get(),
+                WINDOW_SIZE.get(),
+                ARGUMENTS.get());
+    }
+
+    public BrowserProfile getProfile() {
+        return profile;
+    }
+
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    /*
+     *  how many browsers fit into the memory budget, never less than one
+     */
+    public int getMaxSessions() {
+        return memoryBudgetMb <= 0 ? Integer.MAX_VALUE : Math.max(1, memoryBudgetMb / memoryMb);
+    }
+
+    /*
+     *  caps the requested number of browsers by the memory budget
+     */
+    public int fitSessions(final int requested) {
+        return Math.min(requested, getMaxSessions());
+    }
+
+    public ChromeOptions createOptions() {
+        final ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy);
+
+        if (profile.isHeadless())
+            options.addArguments("--headless");
+
+        options.addArguments("--window-size=" + windowSize);
+        options.addArguments(profile.getArguments());
+        options.addArguments(extraArguments);
+
+        return options;
+    }
+
+    /*
+     *  the "network.*" rules of NetworkControl are attached to every new browser
+     */
+    public WebDriver create() {
+        final WebDriver webDriver = new ChromeDriver(createOptions());
+
+        try {
+            NetworkControl.fromConfig(webDriver);
+        } catch (final RuntimeException ex) {
+            webDriver.quit();
+            throw ex;
+        }
+
+        return webDriver;
+    }
+
+    @Override
+    public WebDriver get() {
+        return create();
+    }
+
+    @Override
+    public String toString() {
+        return profile + " (page load " + pageLoadStrategy + ", ~" + memoryMb + " MB per browser"
+                + (memoryBudgetMb > 0 ? ", budget " + memoryBudgetMb + " MB" : "") + ")";
+    }
+
+    private static String defaultDriverPath() {
+        return new File("chromedriver.exe").isFile() ? "chromedriver.exe" : null;
+    }
+}
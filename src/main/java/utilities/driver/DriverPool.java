@@ -0,0 +1,380 @@
+package utilities.driver;
+
+import customexception.DriverUnavailableException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import utilities.network.NetworkControl;
+import utilities.pagefactory.NavigationTracker;
+import utilities.properties.ConfigKey;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ *  hands out at most "size" browser sessions at a time. released sessions are reset (extra windows, cookies,
+ *  local and session storage, back to about:blank) and reused by the next test, also across test classes, instead
+ *  of starting a new browser. a session is only recycled after "driver.pool.max.uses" leases or when its health
+ *  check fails. an acquired driver is bound to the calling thread through DriverContext until it is released.
+ *  only drivers leased from the pool can be released or discarded, anything else is ignored
+ */
+public class DriverPool implements Closeable {
+    public static final String POOL_SIZE_PROPERTY = "driver.pool.size";
+
+    public static final String MAX_USES_PROPERTY = "driver.pool.max.uses";
+
+    public static final int DEFAULT_MAX_USES = 100;
+
+    public static final ConfigKey<Integer> POOL_SIZE =
+            ConfigKey.ofInt(POOL_SIZE_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+    public static final ConfigKey<Integer> MAX_USES = ConfigKey.ofInt(MAX_USES_PROPERTY, DEFAULT_MAX_USES);
+
+    public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofMinutes(5);
+
+    private final Supplier<WebDriver> factory;
+
+    private final int size;
+
+    private final Semaphore slots;
+
+    private final int maxUses;
+
+    private final ConcurrentHashMap<WebDriver, AtomicInteger> uses = new ConcurrentHashMap<>();
+
+    private final LongAdder created = new LongAdder();
+
+    private final LongAdder reused = new LongAdder();
+
+    private final LongAdder recycled = new LongAdder();
+
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+
+    private final Set<WebDriver> drivers = ConcurrentHashMap.newKeySet();
+
+    private final Set<WebDriver> leased = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean closed;
+
+    public DriverPool(final Supplier<WebDriver> factory) {
+        this(POOL_SIZE.get(), factory);
+    }
+
+    public DriverPool(final int size, final Supplier<WebDriver> factory) {
+        this(size, MAX_USES.get(), factory);
+    }
+
+    /*
+     *  maxUses of 0 or less keeps sessions until they fail their health check
+     */
+    public DriverPool(final int size, final int maxUses, final Supplier<WebDriver> factory) {
+        if (size < 1)
+            throw new IllegalArgumentException("Driver pool size must be at least 1");
+
+        this.size = size;
+        this.factory = factory;
+        this.slots = new Semaphore(size, true);
+        this.maxUses = maxUses;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getMaxUses() {
+        return maxUses;
+    }
+
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    public long getReusedCount() {
+        return reused.sum();
+    }
+
+    /*
+     *  sessions quit because they reached maxUses, failed their health check or could not be reset
+     */
+    public long getRecycledCount() {
+        return recycled.sum();
+    }
+
+    /*
+     *  starts up to "count" browsers in parallel so the first tests do not pay the browser start up
+     */
+    public DriverPool warmUp(final int count) {
+        final int missing = Math.min(count, size) - drivers.size();
+        final List<CompletableFuture<Void>> starting = new ArrayList<>();
+
+        for (int i = 0; i < missing; i++)
+            starting.add(CompletableFuture.runAsync(() -> idle.offerLast(create())));
+
+        for (final CompletableFuture<Void> future : starting) {
+            try {
+                future.join();
+            } catch (final RuntimeException ex) {
+                System.out.println("Unable to warm up browser session: " + ex.getMessage());
+            }
+        }
+
+        return this;
+    }
+
+    public WebDriver acquire() {
+        return acquire(DEFAULT_ACQUIRE_TIMEOUT);
+    }
+
+    public WebDriver acquire(final Duration timeout) {
+        if (closed)
+            throw new DriverUnavailableException("Driver pool is closed");
+
+        try {
+            if (!slots.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS))
+                throw new DriverUnavailableException("No browser session available after " + timeout);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DriverUnavailableException("Interrupted while waiting for a browser session");
+        }
+
+        try {
+            final WebDriver webDriver = takeHealthyOrCreate();
+            leased.add(webDriver);
+            DriverContext.bind(webDriver);
+            return webDriver;
+        } catch (final RuntimeException ex) {
+            slots.release();
+            throw ex;
+        }
+    }
+
+    /*
+     *  resets the session and keeps it for the next test, sessions that are used up or cannot be reset are quit
+     */
+    public void release(final WebDriver webDriver) {
+        unbindIfCurrent(webDriver);
+
+        if (!returned(webDriver))
+            return;
+
+        if (closed) {
+            quit(webDriver);
+        } else if (isUsedUp(webDriver) || !reset(webDriver)) {
+            recycled.increment();
+            quit(webDriver);
+        } else {
+            idle.offerFirst(webDriver);
+        }
+
+        slots.release();
+    }
+
+    /*
+     *  quits the session instead of reusing it, e.g. after the browser crashed
+     */
+    public void discard(final WebDriver webDriver) {
+        unbindIfCurrent(webDriver);
+
+        if (!returned(webDriver))
+            return;
+
+        quit(webDriver);
+        slots.release();
+    }
+
+    /*
+     *  a driver gives its slot back once, drivers that were not leased from this pool have no slot
+     */
+    private boolean returned(final WebDriver webDriver) {
+        if (leased.remove(webDriver))
+            return true;
+
+        System.out.println("Ignoring browser session that is not leased from this pool");
+        return false;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        for (final WebDriver webDriver : new ArrayList<>(drivers))
+            quit(webDriver);
+
+        idle.clear();
+    }
+
+    protected boolean isHealthy(final WebDriver webDriver) {
+        try {
+            webDriver.getWindowHandle();
+            return true;
+        } catch (final WebDriverException ex) {
+            return false;
+        }
+    }
+
+    /*
+     *  with devtools the cookies and storage of every origin are cleared. otherwise only the current origin can
+     *  be reached through webdriver, so it is cleared before leaving the page
+     */
+    protected boolean reset(final WebDriver webDriver) {
+        try {
+            closeExtraWindows(webDriver);
+
+            if (!clearBrowserData(webDriver)) {
+                clearStorage(webDriver);
+                webDriver.manage().deleteAllCookies();
+            }
+
+            webDriver.navigate().to("about:blank");
+            NavigationTracker.navigated(webDriver);
+            return true;
+        } catch (final WebDriverException ex) {
+            return false;
+        }
+    }
+
+    private void closeExtraWindows(final WebDriver webDriver) {
+        final Set<String> handles = webDriver.getWindowHandles();
+
+        if (handles.size() <= 1)
+            return;
+
+        final String first = handles.iterator().next();
+
+        for (final String handle : handles) {
+            if (!handle.equals(first)) {
+                webDriver.switchTo().window(handle);
+                webDriver.close();
+            }
+        }
+
+        webDriver.switchTo().window(first);
+    }
+
+    private boolean clearBrowserData(final WebDriver webDriver) {
+        if (!(webDriver instanceof HasDevTools))
+            return false;
+
+        try {
+            final DevTools devTools = ((HasDevTools) webDriver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(new Command<Void>("Network.clearBrowserCookies", Collections.<String, Object>emptyMap()));
+            clearDataForOrigin(devTools, currentOrigin(webDriver));
+
+            try {
+                clearDataForOrigin(devTools, "*");
+            } catch (final WebDriverException ex) {
+                // older browsers only accept a single origin
+            }
+
+            return true;
+        } catch (final WebDriverException ex) {
+            return false;
+        }
+    }
+
+    private void clearDataForOrigin(final DevTools devTools, final String origin) {
+        if (origin == null)
+            return;
+
+        final Map<String, Object> params = new HashMap<>();
+        params.put("origin", origin);
+        params.put("storageTypes", "all");
+        devTools.send(new Command<Void>("Storage.clearDataForOrigin", params));
+    }
+
+    private String currentOrigin(final WebDriver webDriver) {
+        if (!(webDriver instanceof JavascriptExecutor))
+            return null;
+
+        final Object origin = ((JavascriptExecutor) webDriver).executeScript("return window.location.origin;");
+        return origin instanceof String && ((String) origin).startsWith("http") ? (String) origin : null;
+    }
+
+    private void clearStorage(final WebDriver webDriver) {
+        if (!(webDriver instanceof JavascriptExecutor))
+            return;
+
+        try {
+            ((JavascriptExecutor) webDriver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        } catch (final WebDriverException ex) {
+            // pages like about:blank or data: urls have no storage to clear
+        }
+    }
+
+    private WebDriver takeHealthyOrCreate() {
+        WebDriver webDriver;
+
+        while ((webDriver = idle.pollFirst()) != null) {
+            if (isHealthy(webDriver)) {
+                reused.increment();
+                uses.get(webDriver).incrementAndGet();
+                return webDriver;
+            }
+
+            recycled.increment();
+            quit(webDriver);
+        }
+
+        webDriver = create();
+        uses.get(webDriver).incrementAndGet();
+        return webDriver;
+    }
+
+    private WebDriver create() {
+        final WebDriver webDriver = factory.get();
+        drivers.add(webDriver);
+        uses.put(webDriver, new AtomicInteger());
+        created.increment();
+        return webDriver;
+    }
+
+    private boolean isUsedUp(final WebDriver webDriver) {
+        final AtomicInteger count = uses.get(webDriver);
+        return maxUses > 0 && count != null && count.get() >= maxUses;
+    }
+
+    private void quit(final WebDriver webDriver) {
+        drivers.remove(webDriver);
+        idle.remove(webDriver);
+        uses.remove(webDriver);
+
+        final NetworkControl network = NetworkControl.of(webDriver);
+
+        if (network != null)
+            network.close();
+
+        try {
+            webDriver.quit();
+        } catch (final WebDriverException ex) {
+            System.out.println("Unable to quit browser session: " + ex.getMessage());
+        }
+    }
+
+    private void unbindIfCurrent(final WebDriver webDriver) {
+        if (DriverContext.isBound() && DriverContext.get() == webDriver)
+            DriverContext.unbind();
+    }
+}
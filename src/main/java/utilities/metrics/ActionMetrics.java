@@ -0,0 +1,245 @@
+package utilities.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+import utilities.actions.Locators;
+import utilities.properties.ConfigKey;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ *  latency histograms of selenium actions and page steps, tagged by action, locator and page.
+ *  values are recorded in microseconds. recording is on unless the "metrics.enabled" system property is false
+ *
+ *  final long start = ActionMetrics.start();
+ *  try {
+ *      element.click();
+ *  } finally {
+ *      ActionMetrics.record("click", element, start);
+ *  }
+ */
+public final class ActionMetrics {
+    public static final String ENABLED_PROPERTY = "metrics.enabled";
+
+    public static final String DIRECTORY_PROPERTY = "metrics.dir";
+
+    public static final ConfigKey<Boolean> ENABLED = ConfigKey.ofBoolean(ENABLED_PROPERTY, true);
+
+    public static final ConfigKey<String> DIRECTORY = ConfigKey.ofString(DIRECTORY_PROPERTY, "target/metrics");
+
+    private static final String NO_TAG = "-";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private static final ThreadLocal<String> PAGE = new ThreadLocal<>();
+
+    private static final ConcurrentHashMap<Tag, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = ENABLED.get();
+
+    private ActionMetrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        ActionMetrics.enabled = enabled;
+    }
+
+    /*
+     *  start time for record(), 0 when recording is off
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void record(final String action, final WebElement element, final long start) {
+        if (start != 0)
+            record(action, Locators.describe(element), start);
+    }
+
+    public static void record(final String action, final String locator, final long start) {
+        if (start == 0)
+            return;
+
+        final long micros = (System.nanoTime() - start) / 1_000;
+        final String page = PAGE.get();
+        final Tag tag = new Tag(action, locator == null ? NO_TAG : locator, page == null ? NO_TAG : page);
+
+        HISTOGRAMS.computeIfAbsent(tag, ignored -> new ConcurrentHistogram(3)).recordValue(Math.max(micros, 0));
+    }
+
+    /*
+     *  tags the actions run by the current thread with the given page until the returned page is restored
+     */
+    public static String enterPage(final String page) {
+        final String previous = PAGE.get();
+        PAGE.set(page);
+        return previous;
+    }
+
+    public static void restorePage(final String previous) {
+        if (previous == null)
+            PAGE.remove();
+        else
+            PAGE.set(previous);
+    }
+
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    /*
+     *  one entry per tag, slowest 99th percentile first. latencies are in milliseconds
+     */
+    public static List<Map<String, Object>> summary() {
+        final List<Map.Entry<Tag, Histogram>> entries = new ArrayList<>(HISTOGRAMS.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<Tag, Histogram> entry) ->
+                entry.getValue().getValueAtPercentile(99)).reversed());
+
+        final List<Map<String, Object>> summary = new ArrayList<>();
+
+        for (final Map.Entry<Tag, Histogram> entry : entries) {
+            final Histogram histogram = entry.getValue().copy();
+            final Map<String, Object> row = new LinkedHashMap<>();
+            row.put("action", entry.getKey().action);
+            row.put("locator", entry.getKey().locator);
+            row.put("page", entry.getKey().page);
+            row.put("count", histogram.getTotalCount());
+            row.put("min", millis(histogram.getMinValue()));
+            row.put("mean", histogram.getMean() / 1_000.0);
+            row.put("max", millis(histogram.getMaxValue()));
+
+            for (final double quantile : QUANTILES)
+                row.put("p" + percentileName(quantile), millis(histogram.getValueAtPercentile(quantile * 100)));
+
+            summary.add(row);
+        }
+
+        return summary;
+    }
+
+    public static String toJson() {
+        return new Json().toJson(summary());
+    }
+
+    /*
+     *  prometheus text exposition format, one summary metric in seconds
+     */
+    public static String toPrometheus() {
+        final String metric = "selenium_action_latency_seconds";
+        final StringBuilder text = new StringBuilder();
+        text.append("# HELP ").append(metric).append(" Latency of selenium actions and page steps.\n");
+        text.append("# TYPE ").append(metric).append(" summary\n");
+
+        for (final Map.Entry<Tag, Histogram> entry : HISTOGRAMS.entrySet()) {
+            final Histogram histogram = entry.getValue().copy();
+            final String labels = entry.getKey().labels();
+
+            for (final double quantile : QUANTILES) {
+                text.append(metric).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.getValueAtPercentile(quantile * 100))).append('\n');
+            }
+
+            text.append(metric).append("_sum{").append(labels).append("} ")
+                    .append(seconds((long) (histogram.getMean() * histogram.getTotalCount()))).append('\n');
+            text.append(metric).append("_count{").append(labels).append("} ")
+                    .append(histogram.getTotalCount()).append('\n');
+        }
+
+        return text.toString();
+    }
+
+    public static void export() {
+        export(Paths.get(DIRECTORY.get()));
+    }
+
+    /*
+     *  writes action-latency.json and action-latency.prom into the directory
+     */
+    public static void export(final Path directory) {
+        if (HISTOGRAMS.isEmpty())
+            return;
+
+        try {
+            Files.createDirectories(directory);
+
+            try (Writer writer = Files.newBufferedWriter(directory.resolve("action-latency.json"), StandardCharsets.UTF_8)) {
+                writer.write(toJson());
+            }
+
+            try (Writer writer = Files.newBufferedWriter(directory.resolve("action-latency.prom"), StandardCharsets.UTF_8)) {
+                writer.write(toPrometheus());
+            }
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static String seconds(final long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+
+    private static String percentileName(final double quantile) {
+        final String name = Double.toString(quantile * 100);
+        return name.endsWith(".0") ? name.substring(0, name.length() - 2) : name.replace('.', '_');
+    }
+
+    private static final class Tag {
+        private final String action;
+
+        private final String locator;
+
+        private final String page;
+
+        private final int hash;
+
+        private Tag(final String action, final String locator, final String page) {
+            this.action = action;
+            this.locator = locator;
+            this.page = page;
+            this.hash = 31 * (31 * action.hashCode() + locator.hashCode()) + page.hashCode();
+        }
+
+        private String labels() {
+            return "action=\"" + escape(action) + "\",locator=\"" + escape(locator) + "\",page=\"" + escape(page) + "\"";
+        }
+
+        private static String escape(final String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Tag))
+                return false;
+
+            final Tag other = (Tag) obj;
+            return action.equals(other.action) && locator.equals(other.locator) && page.equals(other.page);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package utilities.network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import utilities.properties.ConfigKey;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+/*
+ *  blocks and mocks requests of a chrome session through the devtools protocol. url patterns use * as wildcard
+ *  and match the whole url. the first matching mock answers the request, then blocked patterns are checked.
+ *  without mocks the blocked patterns are handed to chrome (Network.setBlockedURLs) and requests are not paused,
+ *  only mocks route every request through java
+ *
+ *  final NetworkControl network = new NetworkControl.Rules(webDriver)
+ *          .block("*google-analytics.com*", "*doubleclick.net*", "*.woff2*")
+ *          .mock("*api/currencies*", Paths.get("src/test/resources/fixtures/currencies.json"))
+ *          .cacheDisabled(false)
+ *          .perform();
+ *  ...
+ *  System.out.println(network.getReport());
+ *  network.close();
+ *
+ *  the same rules can be configured for every browser DriverFactory starts:
+ *
+ *  network.block=*google-analytics.com*,*googletagmanager.com*,*fonts.googleapis.com*
+ *  network.mocks=*api/currencies*->src/test/resources/fixtures/currencies.json
+ *  network.cache.disabled=false
+ */
+public final class NetworkControl implements AutoCloseable {
+    public static final ConfigKey<List<String>> BLOCK = ConfigKey.ofList("network.block");
+
+    public static final ConfigKey<List<String>> MOCKS = ConfigKey.ofList("network.mocks");
+
+    public static final ConfigKey<Boolean> CACHE_DISABLED = ConfigKey.ofBoolean("network.cache.disabled", false);
+
+    private static final Map<WebDriver, NetworkControl> CONTROLS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /* weak, CONTROLS holds the control as long as the driver is reachable */
+    private final WeakReference<WebDriver> webDriver;
+
+    private final NetworkReport report = new NetworkReport();
+
+    private final NetworkInterceptor interceptor;
+
+    private final DevTools devTools;
+
+    private NetworkControl(final WebDriver webDriver, final Rules rules) {
+        this.webDriver = new WeakReference<>(webDriver);
+
+        if (!(webDriver instanceof HasDevTools)) {
+            System.out.println("Network control needs a devtools session, " + webDriver.getClass().getSimpleName()
+                    + " has none. Requests are not intercepted");
+            this.interceptor = null;
+            this.devTools = null;
+            return;
+        }
+
+        this.devTools = ((HasDevTools) webDriver).getDevTools();
+        this.devTools.createSessionIfThereIsNotOne();
+
+        if (rules.cacheDisabled != null)
+            setCacheDisabled(rules.cacheDisabled);
+
+        final List<Mock> mocks = new ArrayList<>(rules.mocks);
+        final List<Pattern> blocked = new ArrayList<>(rules.blocked);
+
+        if (mocks.isEmpty()) {
+            this.interceptor = null;
+
+            if (!rules.patterns.isEmpty())
+                setBlockedUrls(rules.patterns);
+            return;
+        }
+
+        this.interceptor = new NetworkInterceptor(webDriver, (Filter) next -> request -> handle(request, next, mocks, blocked));
+    }
+
+    /*
+     *  chrome fails blocked requests itself, they are only reported back through the loadingFailed event. the
+     *  requests that load are counted with their size, to estimate what the blocked ones saved
+     */
+    private void setBlockedUrls(final List<String> patterns) {
+        devTools.send(new Command<Void>("Network.enable", Collections.<String, Object>emptyMap()));
+        devTools.addListener(new Event<Map<String, Object>>("Network.loadingFailed", input -> input.read(Json.MAP_TYPE)),
+                failed -> {
+                    if ("inspector".equals(failed.get("blockedReason")))
+                        report.recordBlocked();
+                });
+        devTools.addListener(new Event<Map<String, Object>>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE)),
+                loaded -> {
+                    final Object bytes = loaded.get("encodedDataLength");
+                    report.recordFinished(bytes instanceof Number ? ((Number) bytes).longValue() : 0);
+                });
+        devTools.send(new Command<Void>("Network.setBlockedURLs",
+                Collections.<String, Object>singletonMap("urls", new ArrayList<>(patterns))));
+    }
+
+    /*
+     *  the control attached to the driver, or null
+     */
+    public static NetworkControl of(final WebDriver webDriver) {
+        return CONTROLS.get(webDriver);
+    }
+
+    /*
+     *  attaches the rules of the "network.*" settings, nothing is attached when none are set
+     */
+    public static NetworkControl fromConfig(final WebDriver webDriver) {
+        final Rules rules = new Rules(webDriver);
+        rules.block(BLOCK.get().toArray(new String[0]));
+
+        for (final String mock : MOCKS.get()) {
+            final int arrow = mock.indexOf("->");
+
+            if (arrow < 0)
+                throw new IllegalArgumentException("Invalid network mock " + mock + ", expected pattern->fixture file");
+
+            rules.mock(mock.substring(0, arrow).trim(), Paths.get(mock.substring(arrow + 2).trim()));
+        }
+
+        if (CACHE_DISABLED.get())
+            rules.cacheDisabled(true);
+
+        return rules.isEmpty() ? null : rules.perform();
+    }
+
+    public NetworkReport getReport() {
+        return report;
+    }
+
+    /*
+     *  turns the browser cache off for the session, e.g. to measure cold page loads
+     */
+    public void setCacheDisabled(final boolean disabled) {
+        if (devTools == null)
+            return;
+
+        devTools.send(new Command<Void>("Network.enable", Collections.<String, Object>emptyMap()));
+        devTools.send(new Command<Void>("Network.setCacheDisabled",
+                Collections.<String, Object>singletonMap("cacheDisabled", disabled)));
+    }
+
+    /*
+     *  stops interception and detaches the devtools session, the rules no longer apply to the driver
+     */
+    @Override
+    public void close() {
+        final WebDriver driver = webDriver.get();
+
+        if (driver != null)
+            CONTROLS.remove(driver);
+
+        try {
+            if (interceptor != null)
+                interceptor.close();
+
+            if (devTools != null) {
+                devTools.clearListeners();
+                devTools.disconnectSession();
+            }
+        } catch (final WebDriverException ex) {
+            System.out.println("Unable to stop network interception: " + ex.getMessage());
+        }
+    }
+
+    private HttpResponse handle(final HttpRequest request, final HttpHandler next,
+                                final List<Mock> mocks, final List<Pattern> blocked) {
+        final String url = request.getUri();
+
+        for (final Mock mock : mocks) {
+            if (mock.pattern.matcher(url).matches()) {
+                report.recordMocked(mock.body.length);
+                return new HttpResponse()
+                        .setStatus(200)
+                        .addHeader("Content-Type", mock.contentType)
+                        .addHeader("Access-Control-Allow-Origin", "*")
+                        .setContent(Contents.bytes(mock.body));
+            }
+        }
+
+        for (final Pattern pattern : blocked) {
+            if (pattern.matcher(url).matches()) {
+                report.recordBlocked();
+                return new HttpResponse().setStatus(204);
+            }
+        }
+
+        report.recordPassed();
+        return next.execute(request);
+    }
+
+    static Pattern glob(final String pattern) {
+        final StringBuilder regex = new StringBuilder();
+        final String[] parts = pattern.split("\\*", -1);
+
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0)
+                regex.append(".*");
+            if (!parts[i].isEmpty())
+                regex.append(Pattern.quote(parts[i]));
+        }
+
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String contentType(final Path fixture) {
+        final String name = fixture.getFileName().toString().toLowerCase(Locale.ROOT);
+
+        if (name.endsWith(".json"))
+            return "application/json";
+        if (name.endsWith(".js"))
+            return "application/javascript";
+        if (name.endsWith(".css"))
+            return "text/css";
+        if (name.endsWith(".html") || name.endsWith(".htm"))
+            return "text/html; charset=utf-8";
+        if (name.endsWith(".svg"))
+            return "image/svg+xml";
+        if (name.endsWith(".png"))
+            return "image/png";
+
+        return "application/octet-stream";
+    }
+
+    private static final class Mock {
+        private final Pattern pattern;
+
+        private final String contentType;
+
+        private final byte[] body;
+
+        private Mock(final Pattern pattern, final String contentType, final byte[] body) {
+            this.pattern = pattern;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    public static class Rules {
+        private final WebDriver webDriver;
+
+        private final List<Pattern> blocked = new ArrayList<>();
+
+        private final List<String> patterns = new ArrayList<>();
+
+        private final List<Mock> mocks = new ArrayList<>();
+
+        private Boolean cacheDisabled;
+
+        public Rules(final WebDriver webDriver) {
+            this.webDriver = webDriver;
+        }
+
+        public Rules block(final String... patterns) {
+            for (final String pattern : patterns) {
+                blocked.add(glob(pattern.trim()));
+                this.patterns.add(pattern.trim());
+            }
+            return this;
+        }
+
+        /*
+         *  answers matching requests with the fixture, read once here
+         */
+        public Rules mock(final String pattern, final Path fixture) {
+            try {
+                return mock(pattern, contentType(fixture), Files.readAllBytes(fixture));
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Unable to read network fixture " + fixture, ex);
+            }
+        }
+
+        public Rules mock(final String pattern, final String contentType, final byte[] body) {
+            mocks.add(new Mock(glob(pattern.trim()), contentType, body.clone()));
+            return this;
+        }
+
+        public Rules cacheDisabled(final boolean cacheDisabled) {
+            this.cacheDisabled = cacheDisabled;
+            return this;
+        }
+
+        boolean isEmpty() {
+            return blocked.isEmpty() && mocks.isEmpty() && cacheDisabled == null;
+        }
+
+        /*
+         *  replaces the control attached to the driver before
+         */
+        public NetworkControl perform() {
+            final NetworkControl previous = of(webDriver);
+
+            if (previous != null)
+                previous.close();
+
+            final NetworkControl control = new NetworkControl(webDriver, this);
+            CONTROLS.put(webDriver, control);
+            return control;
+        }
+    }
+}
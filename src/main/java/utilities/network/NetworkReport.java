@@ -0,0 +1,102 @@
+package utilities.network;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ *  requests seen by a NetworkControl. blocked requests never reach the network, mocked ones are answered from
+ *  fixtures, so only their size is known. passed requests went to the network as usual. with mocks every request
+ *  is intercepted and counted, without them chrome blocks the urls itself and only blocked requests and
+ *  requests that finished loading are seen. the bytes a blocked request would have cost are not known, they
+ *  are estimated from the average transfer size of the finished ones
+ */
+public final class NetworkReport {
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder blocked = new LongAdder();
+
+    private final LongAdder mocked = new LongAdder();
+
+    private final LongAdder mockedBytes = new LongAdder();
+
+    private final LongAdder finished = new LongAdder();
+
+    private final LongAdder finishedBytes = new LongAdder();
+
+    void recordBlocked() {
+        requests.increment();
+        blocked.increment();
+    }
+
+    void recordMocked(final int bytes) {
+        requests.increment();
+        mocked.increment();
+        mockedBytes.add(bytes);
+    }
+
+    void recordPassed() {
+        requests.increment();
+    }
+
+    void recordFinished(final long bytes) {
+        requests.increment();
+        finished.increment();
+        finishedBytes.add(bytes);
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    public long getMockedCount() {
+        return mocked.sum();
+    }
+
+    /*
+     *  bytes served from fixtures instead of the network
+     */
+    public long getMockedBytes() {
+        return mockedBytes.sum();
+    }
+
+    /*
+     *  bytes transferred by the requests that finished loading, only counted without mocks
+     */
+    public long getTransferredBytes() {
+        return finishedBytes.sum();
+    }
+
+    /*
+     *  blocked requests times the average transfer size of the finished ones, 0 until a request finished
+     */
+    public long getEstimatedBlockedBytes() {
+        final long count = finished.sum();
+        return count == 0 ? 0 : getBlockedCount() * (getTransferredBytes() / count);
+    }
+
+    /*
+     *  requests that did not go to the network, blocked or mocked
+     */
+    public long getSavedCount() {
+        return getBlockedCount() + getMockedCount();
+    }
+
+    public void reset() {
+        requests.reset();
+        blocked.reset();
+        mocked.reset();
+        mockedBytes.reset();
+        finished.reset();
+        finishedBytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d saved=%d (blocked=%d ~%d bytes, mocked=%d %d bytes from fixtures)",
+                getRequestCount(), getSavedCount(), getBlockedCount(), getEstimatedBlockedBytes(), getMockedCount(),
+                getMockedBytes());
+    }
+}
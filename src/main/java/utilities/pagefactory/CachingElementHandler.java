@@ -0,0 +1,46 @@
+package utilities.pagefactory;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/*
+ *  element proxy handler that looks the element up again once when the cached element went stale
+ */
+public class CachingElementHandler implements InvocationHandler {
+    private final CachingElementLocator locator;
+
+    public CachingElementHandler(final CachingElementLocator locator) {
+        this.locator = locator;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if ("toString".equals(method.getName()) && method.getParameterCount() == 0)
+            return locator.toString();
+
+        final WebElement element = locator.findElement();
+
+        if ("getWrappedElement".equals(method.getName()))
+            return element;
+
+        try {
+            return method.invoke(element, args);
+        } catch (final InvocationTargetException ex) {
+            if (!(ex.getCause() instanceof StaleElementReferenceException))
+                throw ex.getCause();
+        }
+
+        locator.invalidate();
+        locator.getStatistics().staleRetry();
+
+        try {
+            return method.invoke(locator.findElement(), args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package utilities.pagefactory;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+
+/*
+ *  remembers the element found by the wrapped locator until the driver navigates or the element goes stale
+ */
+public class CachingElementLocator implements ElementLocator {
+    private final ElementLocator delegate;
+
+    private final WebDriver webDriver;
+
+    private final LookupStatistics statistics;
+
+    private volatile Cached cached;
+
+    public CachingElementLocator(final ElementLocator delegate, final WebDriver webDriver,
+                                 final LookupStatistics statistics) {
+        this.delegate = delegate;
+        this.webDriver = webDriver;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public WebElement findElement() {
+        final long generation = NavigationTracker.generation(webDriver);
+        final Cached current = cached;
+
+        if (current != null && current.generation == generation) {
+            statistics.hit();
+            return current.element;
+        }
+
+        statistics.miss();
+        final WebElement element = delegate.findElement();
+        cached = new Cached(element, generation);
+        return element;
+    }
+
+    /*
+     *  lists are not cached, a stale entry could not be told apart from the others
+     */
+    @Override
+    public List<WebElement> findElements() {
+        statistics.miss();
+        return delegate.findElements();
+    }
+
+    public void invalidate() {
+        cached = null;
+    }
+
+    LookupStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    private static final class Cached {
+        private final WebElement element;
+
+        private final long generation;
+
+        private Cached(final WebElement element, final long generation) {
+            this.element = element;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package utilities.pagefactory;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Field;
+
+/*
+ *  creates caching locators for the fields of one page, every locator reports to the page's statistics
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+    private final WebDriver webDriver;
+
+    private final LookupStatistics statistics = new LookupStatistics();
+
+    public CachingElementLocatorFactory(final WebDriver webDriver) {
+        this.webDriver = webDriver;
+    }
+
+    @Override
+    public ElementLocator createLocator(final Field field) {
+        return new CachingElementLocator(new DefaultElementLocator(webDriver, field), webDriver, statistics);
+    }
+
+    public LookupStatistics getStatistics() {
+        return statistics;
+    }
+}
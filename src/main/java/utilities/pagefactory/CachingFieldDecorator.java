@@ -0,0 +1,30 @@
+package utilities.pagefactory;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Proxy;
+
+/*
+ *  PageFactory decorator that backs WebElement fields with CachingElementHandler proxies
+ */
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    public CachingFieldDecorator(final ElementLocatorFactory factory) {
+        super(factory);
+    }
+
+    @Override
+    protected WebElement proxyForLocator(final ClassLoader loader, final ElementLocator locator) {
+        if (!(locator instanceof CachingElementLocator))
+            return super.proxyForLocator(loader, locator);
+
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new CachingElementHandler((CachingElementLocator) locator));
+    }
+}
@@ -0,0 +1,44 @@
+package utilities.pagefactory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ *  element lookups of one page: hits were served from the cache, misses went to the browser
+ *  and stale retries were cached elements that had to be looked up again
+ */
+public final class LookupStatistics {
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder staleRetries = new LongAdder();
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void staleRetry() {
+        staleRetries.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStaleRetries() {
+        return staleRetries.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d staleRetries=%d", getHits(), getMisses(), getStaleRetries());
+    }
+}
@@ -0,0 +1,26 @@
+package utilities.pagefactory;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ *  counts the navigations of every driver, cached elements found before the last navigation are looked up again
+ */
+public final class NavigationTracker {
+    private static final Map<WebDriver, AtomicLong> GENERATIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private NavigationTracker() {}
+
+    public static long generation(final WebDriver webDriver) {
+        final AtomicLong generation = GENERATIONS.get(webDriver);
+        return generation == null ? 0 : generation.get();
+    }
+
+    public static void navigated(final WebDriver webDriver) {
+        GENERATIONS.computeIfAbsent(webDriver, ignored -> new AtomicLong()).incrementAndGet();
+    }
+}
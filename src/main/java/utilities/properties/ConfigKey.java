@@ -0,0 +1,107 @@
+package utilities.properties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/*
+ *  a typed configuration key. every key gets a slot in the table LayeredConfig compiles, so reading it is an
+ *  array access. keys are meant to be constants of the class that uses them
+ *
+ *  public static final ConfigKey<Duration> TIMEOUT = ConfigKey.ofDuration("wait.timeout.millis", Duration.ofSeconds(20));
+ *  ...
+ *  final Duration timeout = TIMEOUT.get();
+ */
+public final class ConfigKey<T> {
+    private static final List<ConfigKey<?>> KEYS = new ArrayList<>();
+
+    private final String name;
+
+    private final String environmentName;
+
+    private final T defaultValue;
+
+    private final Function<String, T> parser;
+
+    private final int index;
+
+    private ConfigKey(final String name, final T defaultValue, final Function<String, T> parser) {
+        this.name = name;
+        this.environmentName = name.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_");
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+
+        synchronized (KEYS) {
+            this.index = KEYS.size();
+            KEYS.add(this);
+        }
+    }
+
+    public static ConfigKey<String> ofString(final String name, final String defaultValue) {
+        return new ConfigKey<>(name, defaultValue, String::trim);
+    }
+
+    public static ConfigKey<Integer> ofInt(final String name, final int defaultValue) {
+        return new ConfigKey<>(name, defaultValue, value -> Integer.valueOf(value.trim()));
+    }
+
+    public static ConfigKey<Long> ofLong(final String name, final long defaultValue) {
+        return new ConfigKey<>(name, defaultValue, value -> Long.valueOf(value.trim()));
+    }
+
+    public static ConfigKey<Boolean> ofBoolean(final String name, final boolean defaultValue) {
+        return new ConfigKey<>(name, defaultValue, PropertiesUtils::parseBoolean);
+    }
+
+    /*
+     *  plain numbers are milliseconds, see PropertiesUtils.parseDuration
+     */
+    public static ConfigKey<Duration> ofDuration(final String name, final Duration defaultValue) {
+        return new ConfigKey<>(name, defaultValue, PropertiesUtils::parseDuration);
+    }
+
+    public static ConfigKey<List<String>> ofList(final String name) {
+        return new ConfigKey<>(name, Collections.<String>emptyList(), PropertiesUtils::parseList);
+    }
+
+    static List<ConfigKey<?>> keys() {
+        synchronized (KEYS) {
+            return new ArrayList<>(KEYS);
+        }
+    }
+
+    public T get() {
+        return LayeredConfig.get(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /*
+     *  the name of the environment variable that overrides this key, e.g. WAIT_TIMEOUT_MILLIS
+     */
+    public String getEnvironmentName() {
+        return environmentName;
+    }
+
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    int index() {
+        return index;
+    }
+
+    T parse(final String value) {
+        return parser.apply(value);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,199 @@
+package utilities.properties;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/*
+ *  resolves every ConfigKey through these layers, the last one that has a value wins:
+ *
+ *  1. the default of the key
+ *  2. the PropertiesUtils file, set with setPath or "config.file" (system property or CONFIG_FILE)
+ *  3. the profile file next to it, config-ci.properties for config.properties and "config.profile=ci"
+ *  4. environment variables, WAIT_TIMEOUT_MILLIS for wait.timeout.millis
+ *  5. -D system properties
+ *
+ *  the results are compiled into a table indexed by key, get() is an array read. the table is compiled again
+ *  when the PropertiesUtils file changes or refresh() is called, e.g. after System.setProperty
+ */
+public final class LayeredConfig {
+    public static final String FILE_PROPERTY = "config.file";
+
+    public static final ConfigKey<String> PROFILE = ConfigKey.ofString("config.profile", "");
+
+    public enum Layer {
+        DEFAULT, FILE, PROFILE, ENVIRONMENT, SYSTEM
+    }
+
+    private static volatile Table table = new Table(new Object[0], new Layer[0], new HashMap<String, String>());
+
+    static {
+        PropertiesUtils.getInstance().addChangeListener(LayeredConfig::refresh);
+
+        final String file = System.getProperty(FILE_PROPERTY, System.getenv("CONFIG_FILE"));
+
+        if (PropertiesUtils.getInstance().getPath() == null && file != null)
+            PropertiesUtils.getInstance().setPath(file);
+
+        refresh();
+    }
+
+    private LayeredConfig() {}
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(final ConfigKey<T> key) {
+        Table current = table;
+
+        if (key.index() >= current.values.length)
+            current = compile();
+
+        return (T) current.values[key.index()];
+    }
+
+    /*
+     *  any key, declared as ConfigKey or not, from the file, profile and system property layers. environment
+     *  variables only apply to declared keys
+     */
+    public static String getValue(final String name) {
+        return table.resolved.get(name);
+    }
+
+    /*
+     *  the layer the current value of the key comes from
+     */
+    public static Layer sourceOf(final ConfigKey<?> key) {
+        Table current = table;
+
+        if (key.index() >= current.sources.length)
+            current = compile();
+
+        return current.sources[key.index()];
+    }
+
+    public static void refresh() {
+        compile();
+    }
+
+    private static synchronized Table compile() {
+        final PropertiesUtils properties = PropertiesUtils.getInstance();
+        final Map<String, String> file = properties.getProperties();
+        final Map<String, String> environment = System.getenv();
+        final Properties system = System.getProperties();
+
+        final String profileName = firstOf(PROFILE, system, environment, file);
+        final Map<String, String> profile = profileName == null || profileName.trim().isEmpty()
+                ? new HashMap<String, String>() : readProfile(properties.getPath(), profileName.trim());
+
+        final Map<String, String> resolved = new HashMap<>(file);
+        resolved.putAll(profile);
+        for (final String name : system.stringPropertyNames())
+            resolved.put(name, system.getProperty(name));
+
+        final List<ConfigKey<?>> keys = ConfigKey.keys();
+        final Object[] values = new Object[keys.size()];
+        final Layer[] sources = new Layer[keys.size()];
+
+        for (final ConfigKey<?> key : keys) {
+            Layer source = Layer.DEFAULT;
+            String value = null;
+
+            if (system.getProperty(key.getName()) != null) {
+                source = Layer.SYSTEM;
+                value = system.getProperty(key.getName());
+            } else if (environment.get(key.getEnvironmentName()) != null) {
+                source = Layer.ENVIRONMENT;
+                value = environment.get(key.getEnvironmentName());
+            } else if (profile.get(key.getName()) != null) {
+                source = Layer.PROFILE;
+                value = profile.get(key.getName());
+            } else if (file.get(key.getName()) != null) {
+                source = Layer.FILE;
+                value = file.get(key.getName());
+            }
+
+            if (value != null)
+                resolved.put(key.getName(), value);
+
+            values[key.index()] = parseOrDefault(key, value);
+            sources[key.index()] = value == null ? Layer.DEFAULT : source;
+        }
+
+        table = new Table(values, sources, resolved);
+        return table;
+    }
+
+    private static Object parseOrDefault(final ConfigKey<?> key, final String value) {
+        if (value == null || value.trim().isEmpty())
+            return key.getDefaultValue();
+
+        try {
+            return key.parse(value);
+        } catch (final RuntimeException ex) {
+            System.out.println("Invalid value " + value + " for " + key + ", using " + key.getDefaultValue());
+            return key.getDefaultValue();
+        }
+    }
+
+    private static String firstOf(final ConfigKey<?> key, final Properties system, final Map<String, String> environment,
+                                  final Map<String, String> file) {
+        if (system.getProperty(key.getName()) != null)
+            return system.getProperty(key.getName());
+
+        if (environment.get(key.getEnvironmentName()) != null)
+            return environment.get(key.getEnvironmentName());
+
+        return file.get(key.getName());
+    }
+
+    private static Map<String, String> readProfile(final String path, final String profile) {
+        final Map<String, String> values = new HashMap<>();
+
+        if (path == null)
+            return values;
+
+        final Path base = Paths.get(path);
+        final String name = base.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        final String profileName = dot < 0 ? name + "-" + profile : name.substring(0, dot) + "-" + profile + name.substring(dot);
+        final Path file = base.resolveSibling(profileName);
+
+        if (!Files.isRegularFile(file)) {
+            System.out.println("Config profile " + profile + " has no file " + file);
+            return values;
+        }
+
+        final Properties props = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+
+        for (final String key : props.stringPropertyNames())
+            values.put(key, props.getProperty(key));
+
+        return values;
+    }
+
+    private static final class Table {
+        private final Object[] values;
+
+        private final Layer[] sources;
+
+        private final Map<String, String> resolved;
+
+        private Table(final Object[] values, final Layer[] sources, final Map<String, String> resolved) {
+            this.values = values;
+            this.sources = sources;
+            this.resolved = resolved;
+        }
+    }
+}
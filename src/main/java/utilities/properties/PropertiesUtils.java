@@ -1,72 +1,402 @@
 package utilities.properties;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/*
+ *  the properties file is loaded once into an immutable snapshot, lookups read the current snapshot without
+ *  locking or touching the disk. changes to the file are picked up by a WatchService, createProperty updates
+ *  the snapshot right away and writes to the file are coalesced and flushed atomically (temp file and rename)
+ *  "config.flush.delay.millis" after the first pending change
+ */
 public class PropertiesUtils {
+    public static final String FLUSH_DELAY_PROPERTY = "config.flush.delay.millis";
 
-    private String path;
+    private static final String COMMENT = "Application Settings";
 
-    private static PropertiesUtils INSTANCE;
+    private static final Pattern DURATION = Pattern.compile("(\\d+)\\s*(ms|s|m|h|d)?");
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private final Object lock = new Object();
+
+    private final Map<String, String> pending = new LinkedHashMap<>();
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private final long flushDelayMillis = Long.getLong(FLUSH_DELAY_PROPERTY, 200);
+
+    private ScheduledExecutorService flusher;
+
+    private boolean flushScheduled;
+
+    private WatchService watchService;
 
     private PropertiesUtils() {}
 
-    public static PropertiesUtils getInstance() {
-        if (INSTANCE == null)
-            INSTANCE = new PropertiesUtils();
+    private static final class Holder {
+        private static final PropertiesUtils INSTANCE = new PropertiesUtils();
+    }
 
-        return INSTANCE;
+    public static PropertiesUtils getInstance() {
+        return Holder.INSTANCE;
     }
 
     public String getPath() {
-        return this.path;
+        return snapshot.name;
     }
 
+    /*
+     *  loads the file and watches it for changes, pending writes to the previous file are flushed first
+     */
     public void setPath(String path) {
-        this.path = path;
+        synchronized (lock) {
+            flush();
+
+            if (path == null) {
+                snapshot = Snapshot.EMPTY;
+                stopWatching();
+                return;
+            }
+
+            final Path file = Paths.get(path).toAbsolutePath().normalize();
+            snapshot = new Snapshot(path, file, read(file));
+            watch(file);
+        }
+
+        notifyListeners();
     }
 
     public String getPropertyValue(final String key) {
-        String value = null;
-        final File configFile = new File(path);
+        return snapshot.values.get(key);
+    }
 
-        try {
-            final FileReader reader = new FileReader(configFile);
+    public String getString(final String key, final String defaultValue) {
+        final String value = getPropertyValue(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public int getInt(final String key, final int defaultValue) {
+        final String value = getPropertyValue(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public long getLong(final String key, final long defaultValue) {
+        final String value = getPropertyValue(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    /*
+     *  true, yes, on and 1 are true, any other value is false
+     */
+    public boolean getBoolean(final String key, final boolean defaultValue) {
+        final String value = getPropertyValue(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : parseBoolean(value);
+    }
+
+    /*
+     *  plain numbers are milliseconds, units ms, s, m, h and d or an ISO-8601 duration like PT2S are accepted
+     */
+    public Duration getDuration(final String key, final Duration defaultValue) {
+        final String value = getPropertyValue(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : parseDuration(value);
+    }
+
+    /*
+     *  comma separated values, trimmed and without empty entries
+     */
+    public List<String> getList(final String key) {
+        final String value = getPropertyValue(key);
+        return value == null ? Collections.<String>emptyList() : parseList(value);
+    }
+
+    /*
+     *  all keys and values of the current snapshot
+     */
+    public Map<String, String> getProperties() {
+        return snapshot.values;
+    }
+
+    /*
+     *  the value is visible to lookups right away and written to the file with the next flush
+     */
+    public void createProperty(final String key, final String value) {
+        synchronized (lock) {
+            if (snapshot.path == null)
+                throw new IllegalStateException("No properties file set, call setPath first");
+
+            pending.put(key, value);
+
+            final Map<String, String> values = new HashMap<>(snapshot.values);
+            values.put(key, value);
+            snapshot = new Snapshot(snapshot.name, snapshot.path, values);
+
+            scheduleFlush();
+        }
+
+        notifyListeners();
+    }
+
+    /*
+     *  writes pending changes to the file now
+     */
+    public void flush() {
+        synchronized (lock) {
+            flushScheduled = false;
+
+            if (pending.isEmpty() || snapshot.path == null)
+                return;
+
+            final Path file = snapshot.path;
             final Properties props = new Properties();
-            props.load(reader);
+            props.putAll(read(file));
+            props.putAll(pending);
 
-            value = props.getProperty(key);
+            try {
+                write(file, props);
+                pending.clear();
+            } catch (final IOException ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
 
-            reader.close();
-        } catch (final FileNotFoundException ex) {
-            ex.printStackTrace();
+    /*
+     *  called after the values changed, through setPath, createProperty or an edit of the file
+     */
+    public void addChangeListener(final Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(final Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    public static boolean parseBoolean(final String value) {
+        final String trimmed = value.trim();
+        return "true".equalsIgnoreCase(trimmed) || "yes".equalsIgnoreCase(trimmed) || "on".equalsIgnoreCase(trimmed)
+                || "1".equals(trimmed);
+    }
+
+    public static Duration parseDuration(final String value) {
+        final String trimmed = value.trim();
+
+        if (trimmed.startsWith("P") || trimmed.startsWith("p"))
+            return Duration.parse(trimmed);
+
+        final Matcher matcher = DURATION.matcher(trimmed.toLowerCase(Locale.ROOT));
+
+        if (!matcher.matches())
+            throw new IllegalArgumentException("Invalid duration " + value);
+
+        final long amount = Long.parseLong(matcher.group(1));
+        final String unit = matcher.group(2) == null ? "ms" : matcher.group(2);
+
+        switch (unit) {
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                return Duration.ofMillis(amount);
+        }
+    }
+
+    public static List<String> parseList(final String value) {
+        final List<String> values = new ArrayList<>();
+
+        for (final String part : value.split(",")) {
+            if (!part.trim().isEmpty())
+                values.add(part.trim());
+        }
+
+        return Collections.unmodifiableList(values);
+    }
+
+    private void reload(final Path file) {
+        synchronized (lock) {
+            if (!file.equals(snapshot.path))
+                return;
+
+            // changes that are not flushed yet stay on top of what is in the file
+            final Map<String, String> values = read(file);
+            values.putAll(pending);
+
+            if (values.equals(snapshot.values))
+                return;
+
+            snapshot = new Snapshot(snapshot.name, file, values);
+        }
+
+        notifyListeners();
+    }
+
+    private void notifyListeners() {
+        for (final Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (final RuntimeException ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled)
+            return;
+
+        if (flusher == null) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "properties-flush"));
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "properties-flush-on-exit"));
+        }
+
+        flushScheduled = true;
+        flusher.schedule(this::flush, flushDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void watch(final Path file) {
+        stopWatching();
+
+        final Path directory = file.getParent();
+
+        if (directory == null || !Files.isDirectory(directory))
+            return;
+
+        try {
+            final WatchService service = FileSystems.getDefault().newWatchService();
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+            daemon(() -> watchLoop(service, file), "properties-watch").start();
         } catch (final IOException ex) {
-            ex.printStackTrace();
+            System.out.println("Unable to watch " + file + " for changes: " + ex.getMessage());
         }
-        return value;
     }
 
-    public void createProperty(final String key, final String value) {
-        final File configFile = new File(path);
+    private void watchLoop(final WatchService service, final Path file) {
+        final Path name = file.getFileName();
 
         try {
-            final FileReader reader = new FileReader(configFile);
-            final Properties props = new Properties();
-            props.load(reader);
+            while (true) {
+                final WatchKey key = service.take();
+                boolean changed = false;
 
-            props.setProperty(key, value);
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (name.equals(event.context()))
+                        changed = true;
+                }
 
-            final FileWriter writer = new FileWriter(configFile);
-            props.store(writer, "Application Settings");
-            writer.close();
-        } catch (final FileNotFoundException ex) {
+                key.reset();
+
+                if (changed)
+                    reload(file);
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException ex) {
+            // stopped watching
+        }
+    }
+
+    private void stopWatching() {
+        if (watchService == null)
+            return;
+
+        try {
+            watchService.close();
+        } catch (final IOException ex) {
             ex.printStackTrace();
+        }
+
+        watchService = null;
+    }
+
+    private static Thread daemon(final Runnable runnable, final String name) {
+        final Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Map<String, String> read(final Path file) {
+        final Map<String, String> values = new HashMap<>();
+
+        if (!Files.isRegularFile(file))
+            return values;
+
+        final Properties props = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
         } catch (final IOException ex) {
             ex.printStackTrace();
         }
+
+        for (final String key : props.stringPropertyNames())
+            values.put(key, props.getProperty(key));
+
+        return values;
+    }
+
+    private static void write(final Path file, final Properties props) throws IOException {
+        final Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                props.store(writer, COMMENT);
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(null, null, Collections.<String, String>emptyMap());
+
+        private final String name;
+
+        private final Path path;
+
+        private final Map<String, String> values;
+
+        private Snapshot(final String name, final Path path, final Map<String, String> values) {
+            this.name = name;
+            this.path = path;
+            this.values = Collections.unmodifiableMap(new HashMap<>(values));
+        }
     }
-}
\ No newline at end of file
+}
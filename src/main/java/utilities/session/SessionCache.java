@@ -0,0 +1,223 @@
+package utilities.session;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import utilities.properties.ConfigKey;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ *  keeps the cookies and local storage of a logged in session per credential set, so later sessions can be
+ *  logged in by restoring them instead of going through the login form. snapshots live in memory and, when
+ *  "session.cache.dir" is set, on disk so the next run can reuse them. they expire after "session.cache.ttl".
+ *  the files hold session cookies, keep the directory out of version control
+ */
+public final class SessionCache {
+    public static final ConfigKey<Duration> TTL = ConfigKey.ofDuration("session.cache.ttl", Duration.ofMinutes(30));
+
+    public static final ConfigKey<String> DIRECTORY = ConfigKey.ofString("session.cache.dir", "");
+
+    /*
+     *  a cheap page of the origin to open before cookies and local storage are restored
+     */
+    public static final ConfigKey<String> RESTORE_PATH = ConfigKey.ofString("session.restore.path", "/favicon.ico");
+
+    private static final String READ_STORAGE =
+            "var values = {};" +
+            "for (var i = 0; i < window.localStorage.length; i++) {" +
+            "  var key = window.localStorage.key(i); values[key] = window.localStorage.getItem(key);" +
+            "}" +
+            "return values;";
+
+    private static final String WRITE_STORAGE =
+            "var values = arguments[0];" +
+            "for (var key in values) { window.localStorage.setItem(key, values[key]); }";
+
+    private static final SessionCache DEFAULT = new SessionCache(TTL.get(),
+            DIRECTORY.get().isEmpty() ? null : Paths.get(DIRECTORY.get()));
+
+    private final long ttlMillis;
+
+    private final Path directory;
+
+    private final ConcurrentHashMap<String, SessionSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<>();
+
+    /*
+     *  a null directory keeps snapshots in memory only
+     */
+    public SessionCache(final Duration ttl, final Path directory) {
+        this.ttlMillis = ttl.toMillis();
+        this.directory = directory;
+    }
+
+    public static SessionCache getDefault() {
+        return DEFAULT;
+    }
+
+    /*
+     *  one lock per key, so parallel tests with the same credentials log in through the form only once
+     */
+    public Object lockFor(final String key) {
+        return locks.computeIfAbsent(key, ignored -> new Object());
+    }
+
+    /*
+     *  stores the cookies and local storage of the page the driver is on
+     */
+    public SessionSnapshot capture(final WebDriver webDriver, final String key) {
+        final URI current = URI.create(webDriver.getCurrentUrl());
+        final String origin = current.getScheme() + "://" + current.getAuthority();
+
+        Map<String, String> storage = Collections.emptyMap();
+
+        if (webDriver instanceof JavascriptExecutor)
+            storage = readStorage((JavascriptExecutor) webDriver);
+
+        final SessionSnapshot snapshot = new SessionSnapshot(origin, new ArrayList<>(webDriver.manage().getCookies()),
+                storage, System.currentTimeMillis());
+
+        snapshots.put(key, snapshot);
+        store(key, snapshot);
+        return snapshot;
+    }
+
+    /*
+     *  the snapshot of the key, null when there is none or it expired
+     */
+    public SessionSnapshot get(final String key) {
+        SessionSnapshot snapshot = snapshots.get(key);
+
+        if (snapshot == null) {
+            snapshot = load(key);
+
+            if (snapshot != null)
+                snapshots.put(key, snapshot);
+        }
+
+        if (snapshot != null && snapshot.isExpired(ttlMillis, System.currentTimeMillis())) {
+            invalidate(key);
+            return null;
+        }
+
+        return snapshot;
+    }
+
+    /*
+     *  opens the origin of the snapshot and puts its cookies and local storage into the session. false when there
+     *  is no snapshot or it could not be restored, whether the restored session is still logged in is up to
+     *  the caller to check
+     */
+    public boolean restore(final WebDriver webDriver, final String key) {
+        final SessionSnapshot snapshot = get(key);
+
+        if (snapshot == null)
+            return false;
+
+        try {
+            webDriver.get(snapshot.getOrigin() + RESTORE_PATH.get());
+
+            for (final Cookie cookie : snapshot.getCookies())
+                webDriver.manage().addCookie(cookie);
+
+            if (!snapshot.getLocalStorage().isEmpty() && webDriver instanceof JavascriptExecutor)
+                ((JavascriptExecutor) webDriver).executeScript(WRITE_STORAGE, snapshot.getLocalStorage());
+
+            return true;
+        } catch (final WebDriverException ex) {
+            System.out.println("Unable to restore session " + key + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    public void invalidate(final String key) {
+        snapshots.remove(key);
+
+        if (directory == null)
+            return;
+
+        try {
+            Files.deleteIfExists(fileOf(key));
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> readStorage(final JavascriptExecutor executor) {
+        try {
+            final Object values = executor.executeScript(READ_STORAGE);
+            return values instanceof Map ? (Map<String, String>) values : Collections.<String, String>emptyMap();
+        } catch (final WebDriverException ex) {
+            return Collections.emptyMap();
+        }
+    }
+
+    private void store(final String key, final SessionSnapshot snapshot) {
+        if (directory == null)
+            return;
+
+        try {
+            Files.createDirectories(directory);
+
+            final Path file = fileOf(key);
+            final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(temp, new Json().toJson(snapshot.toMap()).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private SessionSnapshot load(final String key) {
+        if (directory == null)
+            return null;
+
+        final Path file = fileOf(key);
+
+        if (!Files.isRegularFile(file))
+            return null;
+
+        try {
+            final String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            return SessionSnapshot.fromMap(new Json().toType(json, Json.MAP_TYPE));
+        } catch (final IOException | RuntimeException ex) {
+            System.out.println("Ignoring unreadable session snapshot " + file + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /*
+     *  keys usually contain user names, the file name only carries a hash of them
+     */
+    private Path fileOf(final String key) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder name = new StringBuilder();
+
+            for (int i = 0; i < 16; i++)
+                name.append(String.format("%02x", digest[i]));
+
+            return directory.resolve(name + ".session.json");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package utilities.session;
+
+import org.openqa.selenium.Cookie;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ *  cookies and local storage of one origin, captured after a login
+ */
+public final class SessionSnapshot {
+    private final String origin;
+
+    private final List<Cookie> cookies;
+
+    private final Map<String, String> localStorage;
+
+    private final long capturedAt;
+
+    public SessionSnapshot(final String origin, final List<Cookie> cookies, final Map<String, String> localStorage,
+                           final long capturedAt) {
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableList(new ArrayList<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.capturedAt = capturedAt;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+
+    /*
+     *  true once the snapshot is older than the ttl or one of its cookies expired
+     */
+    public boolean isExpired(final long ttlMillis, final long now) {
+        if (now - capturedAt > ttlMillis)
+            return true;
+
+        for (final Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().getTime() <= now)
+                return true;
+        }
+
+        return false;
+    }
+
+    Map<String, Object> toMap() {
+        final List<Map<String, Object>> cookieMaps = new ArrayList<>();
+
+        for (final Cookie cookie : cookies) {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", cookie.getName());
+            map.put("value", cookie.getValue());
+            map.put("domain", cookie.getDomain());
+            map.put("path", cookie.getPath());
+            map.put("expiry", cookie.getExpiry() == null ? null : cookie.getExpiry().getTime());
+            map.put("secure", cookie.isSecure());
+            map.put("httpOnly", cookie.isHttpOnly());
+            map.put("sameSite", cookie.getSameSite());
+            cookieMaps.add(map);
+        }
+
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("origin", origin);
+        map.put("capturedAt", capturedAt);
+        map.put("cookies", cookieMaps);
+        map.put("localStorage", localStorage);
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    static SessionSnapshot fromMap(final Map<String, Object> map) {
+        final List<Cookie> cookies = new ArrayList<>();
+
+        for (final Map<String, Object> cookie : (List<Map<String, Object>>) map.get("cookies")) {
+            final Number expiry = (Number) cookie.get("expiry");
+
+            cookies.add(new Cookie.Builder((String) cookie.get("name"), (String) cookie.get("value"))
+                    .domain((String) cookie.get("domain"))
+                    .path((String) cookie.get("path"))
+                    .expiresOn(expiry == null ? null : new Date(expiry.longValue()))
+                    .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")))
+                    .sameSite((String) cookie.get("sameSite"))
+                    .build());
+        }
+
+        return new SessionSnapshot((String) map.get("origin"), cookies,
+                (Map<String, String>) map.get("localStorage"), ((Number) map.get("capturedAt")).longValue());
+    }
+}
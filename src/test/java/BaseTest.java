@@ -1,19 +1,14 @@
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
+import extensions.BrowserExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 
+@ExtendWith(BrowserExtension.class)
 public abstract class BaseTest {
-    protected static WebDriver webDriver;
+    protected WebDriver webDriver;
 
-    @BeforeAll
-    public static void init() {
-        System.setProperty("webdriver.chrome.driver", "chromedriver.exe");
-        webDriver = new ChromeDriver();
-    }
-
-    @AfterAll
-    public static void teardown() {
-        webDriver.quit();
+    @BeforeEach
+    public void init(WebDriver webDriver) {
+        this.webDriver = webDriver;
     }
 }
@@ -0,0 +1,139 @@
+package extensions;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.openqa.selenium.WebDriver;
+import utilities.driver.DriverFactory;
+import utilities.driver.DriverPool;
+import utilities.metrics.ActionMetrics;
+import utilities.network.NetworkControl;
+import utilities.properties.PropertiesUtils;
+
+import java.io.File;
+
+/*
+ *  leases a browser from a pool shared by the whole run for every test and injects it as a WebDriver parameter.
+ *  the pool holds "browser.slots" sessions (junit configuration parameter or system property), the same number
+ *  BrowserSlotsParallelStrategy uses as parallelism. class durations are recorded for LongestFirstClassOrderer
+ *  and action latencies are exported to target/metrics (see ActionMetrics) once the run ends
+ */
+public class BrowserExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback,
+        ParameterResolver {
+
+    public static final String BROWSER_SLOTS = "browser.slots";
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(BrowserExtension.class);
+
+    private static final String SESSION = "session";
+
+    private static final String DRIVER = "driver";
+
+    private static final String STARTED = "started";
+
+    private static final String CONFIG_FILE = "src/test/resources/browser.properties";
+
+    static int defaultBrowserSlots() {
+        return driverFactory().fitSessions(DriverPool.POOL_SIZE.get());
+    }
+
+    /*
+     *  browser settings come from src/test/resources/browser.properties unless PropertiesUtils points elsewhere,
+     *  see LayeredConfig for what overrides them
+     */
+    static DriverFactory driverFactory() {
+        final PropertiesUtils config = PropertiesUtils.getInstance();
+
+        if (config.getPath() == null && new File(CONFIG_FILE).isFile())
+            config.setPath(CONFIG_FILE);
+
+        return DriverFactory.fromConfig();
+    }
+
+    @Override
+    public void beforeAll(final ExtensionContext context) {
+        context.getStore(NAMESPACE).put(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void afterAll(final ExtensionContext context) {
+        final Long started = context.getStore(NAMESPACE).remove(STARTED, Long.class);
+
+        if (started != null)
+            TestDurations.record(context.getRequiredTestClass().getName(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public void beforeEach(final ExtensionContext context) {
+        final WebDriver webDriver = pool(context).acquire();
+        context.getStore(NAMESPACE).put(DRIVER, webDriver);
+    }
+
+    @Override
+    public void afterEach(final ExtensionContext context) {
+        final WebDriver webDriver = context.getStore(NAMESPACE).remove(DRIVER, WebDriver.class);
+
+        if (webDriver == null)
+            return;
+
+        final NetworkControl network = NetworkControl.of(webDriver);
+
+        if (network != null) {
+            System.out.println(context.getDisplayName() + " network " + network.getReport());
+            network.getReport().reset();
+        }
+
+        pool(context).release(webDriver);
+    }
+
+    @Override
+    public boolean supportsParameter(final ParameterContext parameterContext, final ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == WebDriver.class;
+    }
+
+    @Override
+    public Object resolveParameter(final ParameterContext parameterContext, final ExtensionContext extensionContext) {
+        final WebDriver webDriver = extensionContext.getStore(NAMESPACE).get(DRIVER, WebDriver.class);
+
+        if (webDriver == null)
+            throw new IllegalStateException("A WebDriver can only be injected into test and @BeforeEach/@AfterEach methods");
+
+        return webDriver;
+    }
+
+    private static DriverPool pool(final ExtensionContext context) {
+        final int slots = context.getConfigurationParameter(BROWSER_SLOTS, Integer::valueOf)
+                .orElseGet(BrowserExtension::defaultBrowserSlots);
+
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(SESSION, key -> new Session(slots), Session.class).pool;
+    }
+
+    /*
+     *  closed by junit once the whole run is finished
+     */
+    private static final class Session implements ExtensionContext.Store.CloseableResource {
+        private final DriverPool pool;
+
+        Session(final int slots) {
+            final DriverFactory factory = driverFactory();
+            final int sessions = factory.fitSessions(slots);
+
+            System.out.println("Browser profile " + factory + ", " + sessions + " of " + slots + " slots");
+            pool = new DriverPool(sessions, factory);
+        }
+
+        @Override
+        public void close() {
+            System.out.println("Browser sessions created=" + pool.getCreatedCount() + " reused=" + pool.getReusedCount()
+                    + " recycled=" + pool.getRecycledCount());
+            pool.close();
+            TestDurations.save();
+            ActionMetrics.export();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package extensions;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+/*
+ *  runs as many tests at the same time as there are browser slots, see BrowserExtension.BROWSER_SLOTS
+ */
+public class BrowserSlotsParallelStrategy implements ParallelExecutionConfigurationStrategy {
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(final ConfigurationParameters parameters) {
+        final int slots = parameters.get(BrowserExtension.BROWSER_SLOTS, Integer::valueOf)
+                .orElseGet(BrowserExtension::defaultBrowserSlots);
+
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return slots;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return slots;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return slots + 256;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return slots;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return 30;
+            }
+        };
+    }
+}
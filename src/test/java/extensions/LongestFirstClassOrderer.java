@@ -0,0 +1,24 @@
+package extensions;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+
+/*
+ *  submits the slowest test classes of the previous runs first so the run does not end waiting on one long class.
+ *  classes without history are treated as the slowest
+ */
+public class LongestFirstClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(final ClassOrdererContext context) {
+        context.getClassDescriptors().sort(Comparator.comparingLong(LongestFirstClassOrderer::expectedDuration).reversed());
+    }
+
+    private static long expectedDuration(final ClassDescriptor descriptor) {
+        final long millis = TestDurations.of(descriptor.getTestClass().getName());
+        return millis < 0 ? Long.MAX_VALUE : millis;
+    }
+}
@@ -0,0 +1,92 @@
+package extensions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ *  test class durations of previous runs, used to start the longest classes first.
+ *  the history is kept in .test-durations.properties in the project root, outside target/ so "mvn clean"
+ *  keeps it, unless "test.durations.file" points elsewhere. ci builds start from a fresh checkout and have to
+ *  cache the file between runs to benefit from it
+ */
+final class TestDurations {
+    static final String FILE_PROPERTY = "test.durations.file";
+
+    private static final Path FILE = Paths.get(System.getProperty(FILE_PROPERTY, ".test-durations.properties"));
+
+    private static final Map<String, Long> RECORDED = new ConcurrentHashMap<>();
+
+    private static volatile Properties history;
+
+    private TestDurations() {}
+
+    /*
+     *  duration in milliseconds of the last runs of the class, or -1 when the class never ran
+     */
+    static long of(final String className) {
+        final String value = history().getProperty(className);
+        return value == null ? -1 : Long.parseLong(value);
+    }
+
+    static void record(final String className, final long millis) {
+        RECORDED.put(className, millis);
+    }
+
+    /*
+     *  merges the durations of this run into the history, older runs weigh in at one third
+     */
+    static synchronized void save() {
+        if (RECORDED.isEmpty())
+            return;
+
+        final Properties merged = new Properties();
+        merged.putAll(history());
+
+        for (final Map.Entry<String, Long> entry : RECORDED.entrySet()) {
+            final long previous = of(entry.getKey());
+            final long current = previous < 0 ? entry.getValue() : (previous + 2 * entry.getValue()) / 3;
+            merged.setProperty(entry.getKey(), Long.toString(current));
+        }
+
+        try {
+            if (FILE.getParent() != null)
+                Files.createDirectories(FILE.getParent());
+
+            try (Writer writer = Files.newBufferedWriter(FILE)) {
+                merged.store(writer, "Test class durations in milliseconds");
+            }
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+
+        history = merged;
+        RECORDED.clear();
+    }
+
+    private static Properties history() {
+        Properties loaded = history;
+
+        if (loaded != null)
+            return loaded;
+
+        loaded = new Properties();
+
+        if (Files.isRegularFile(FILE)) {
+            try (Reader reader = Files.newBufferedReader(FILE)) {
+                loaded.load(reader);
+            } catch (final IOException ex) {
+                ex.printStackTrace();
+            }
+        }
+
+        history = loaded;
+        return loaded;
+    }
+}
@@ -0,0 +1,159 @@
+package utilities.datahandler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DelimitedSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void quoted_fields_keep_delimiters_quotes_and_newlines() throws IOException {
+        final List<List<String>> rows = read("quoted.csv",
+                "name,note\r\n\"a, b\",\"say \"\"hi\"\"\"\r\n\"two\nlines\",plain\n");
+
+        assertEquals(3, rows.size());
+        assertEquals(Arrays.asList("a, b", "say \"hi\""), rows.get(1));
+        assertEquals(Arrays.asList("two\nlines", "plain"), rows.get(2));
+    }
+
+    @Test
+    public void tabs_separate_tsv_columns() throws IOException {
+        final List<List<String>> rows = read("tabs.tsv", "name\tnote\nx, y\t\"a\tb\"\n");
+
+        assertEquals(Arrays.asList("x, y", "a\tb"), rows.get(1));
+    }
+
+    @Test
+    public void byte_order_mark_is_not_part_of_the_first_header() throws IOException {
+        final List<List<String>> rows = read("bom.csv", "\uFEFFname,count\nx,1\n");
+
+        assertEquals(Arrays.asList("name", "count"), rows.get(0));
+    }
+
+    @Test
+    public void numbers_outside_the_fast_path_fall_back_to_parse_double() throws IOException {
+        final String[] values = {"0.1", "-42", "+7.5", "1e3", "-0.000123", "12345678901234567890.5", "1.0000000000000000001"};
+
+        try (TabularSource source = open("numbers.csv", "value\n" + String.join("\n", values) + "\nx\n")) {
+            assertTrue(source.next());
+
+            for (final String value : values) {
+                assertTrue(source.next());
+                assertEquals(Double.parseDouble(value), source.row().getNumeric(0), value);
+            }
+
+            assertTrue(source.next());
+            assertThrows(IllegalStateException.class, () -> source.row().getNumeric(0));
+        }
+    }
+
+    @Test
+    public void dates_with_zone_offsets_are_read_as_instants() throws IOException {
+        final String[] values = {"2024-03-01T10:00:00Z", "2024-03-01T12:00:00+02:00", "2024-03-01T12:00+0200",
+                "2024-03-01 05:00:00.000-05"};
+        final Date expected = Date.from(Instant.parse("2024-03-01T10:00:00Z"));
+
+        try (TabularSource source = open("dates.csv", "when\n" + String.join("\n", values) + "\n2024-02-30\n")) {
+            assertTrue(source.next());
+
+            for (final String value : values) {
+                assertTrue(source.next());
+                assertEquals(expected, source.row().getDate(0), value);
+            }
+
+            assertTrue(source.next());
+            assertThrows(IllegalStateException.class, () -> source.row().getDate(0));
+        }
+    }
+
+    @Test
+    public void streamed_rows_equal_loaded_rows() throws Exception {
+        final StringBuilder csv = new StringBuilder("\uFEFFname,count,price,active,created\r\n");
+
+        for (int i = 0; i < 500; i++) {
+            final String name = i % 7 == 0 ? "\"row, " + i + "\nnext\"" : "row" + i;
+            csv.append(name).append(',').append(i).append(',').append(i * 1.25).append(',').append(i % 2 == 0)
+                    .append(',').append("2024-01-").append(String.format("%02d", i % 28 + 1)).append("T08:30:00Z\r\n");
+        }
+
+        final String filePath = write("parity.csv", csv.toString()).toString();
+        final List<Record> loaded = new SpreadsheetObjectMapper.Map().from(filePath).to(Record.class).perform();
+        final List<Record> streamed;
+
+        try (Stream<Record> rows = new SpreadsheetObjectMapper.Map().from(filePath).to(Record.class).stream()) {
+            streamed = rows.collect(Collectors.toList());
+        }
+
+        assertEquals(500, loaded.size());
+        assertEquals(describe(loaded), describe(streamed));
+        assertEquals("row, 7\nnext", loaded.get(7).name);
+        assertEquals(Date.from(Instant.parse("2024-01-02T08:30:00Z")), loaded.get(1).created);
+    }
+
+    static class Record {
+        String name;
+
+        int count;
+
+        double price;
+
+        boolean active;
+
+        Date created;
+    }
+
+    private static List<String> describe(final List<Record> records) {
+        final List<String> described = new ArrayList<>();
+
+        for (final Record record : records)
+            described.add(record.name + "|" + record.count + "|" + record.price + "|" + record.active + "|"
+                    + record.created.getTime());
+
+        return described;
+    }
+
+    private List<List<String>> read(final String fileName, final String content) throws IOException {
+        final List<List<String>> rows = new ArrayList<>();
+
+        try (TabularSource source = open(fileName, content)) {
+            while (source.next()) {
+                final List<String> cells = new ArrayList<>();
+
+                for (int i = 0; i < source.row().getColumnCount(); i++)
+                    cells.add(source.row().getString(i));
+
+                rows.add(cells);
+            }
+        }
+
+        assertFalse(rows.isEmpty());
+        return rows;
+    }
+
+    private TabularSource open(final String fileName, final String content) throws IOException {
+        return TabularSource.open(write(fileName, content).toString(), 0);
+    }
+
+    private Path write(final String fileName, final String content) throws IOException {
+        return Files.write(directory.resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+    }
+}